@@ -0,0 +1,114 @@
+package com.getcapacitor.community.speechrecognition.benchmarks;
+
+import com.getcapacitor.JSArray;
+import com.getcapacitor.JSObject;
+import com.getcapacitor.community.speechrecognition.PartialResultsDeltaEncoder;
+import com.getcapacitor.community.speechrecognition.RecognitionErrors;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Cost of emitting the plugin's events up to the bridge: notifyListeners hands
+ * the payload to the WebView as a JSON string, so each benchmark builds and
+ * serializes one payload.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EventEmissionBenchmark {
+
+    @Param({ "1", "5" })
+    int nBest;
+
+    @Param({ "10", "100" })
+    int words;
+
+    private List<List<String>> partials;
+    private final PartialResultsDeltaEncoder encoder = new PartialResultsDeltaEncoder();
+    private int next = 0;
+    private int errorCode = 0;
+
+    @Setup
+    public void setUp() {
+        partials = Utterances.growingPartials(new Random(42), nBest, words, 1);
+    }
+
+    @Benchmark
+    public String partialResults() {
+        JSObject ret = new JSObject();
+        ret.put("matches", new JSArray(nextPartial()));
+        return ret.toString();
+    }
+
+    @Benchmark
+    public String partialResultsDelta() {
+        List<String> partial = nextPartial();
+        // Wrapping around starts a new utterance
+        if (next == 1) {
+            encoder.reset();
+        }
+        JSObject delta = encoder.encode(partial);
+        return delta == null ? null : delta.toString();
+    }
+
+    @Benchmark
+    public String listeningState() {
+        JSObject ret = new JSObject();
+        ret.put("status", "started");
+        return ret.toString();
+    }
+
+    @Benchmark
+    public String volumeLevel() {
+        JSObject ret = new JSObject();
+        ret.put("level", 0.42);
+        ret.put("peak", 0.87);
+        return ret.toString();
+    }
+
+    @Benchmark
+    public String commandDetected() {
+        JSObject ret = new JSObject();
+        ret.put("command", "turn on the lights");
+        ret.put("index", 0);
+        ret.put("final", false);
+        return ret.toString();
+    }
+
+    @Benchmark
+    public String errorText() {
+        return RecognitionErrors.text(nextErrorCode());
+    }
+
+    @Benchmark
+    public String error() {
+        int code = nextErrorCode();
+        JSObject ret = new JSObject();
+        ret.put("error", RecognitionErrors.text(code));
+        ret.put("errorCode", code);
+        return ret.toString();
+    }
+
+    /**
+     * Cycles through every error code and one unknown code.
+     */
+    private int nextErrorCode() {
+        errorCode = errorCode % 10 + 1;
+        return errorCode;
+    }
+
+    private List<String> nextPartial() {
+        List<String> partial = partials.get(next);
+        next = (next + 1) % partials.size();
+        return partial;
+    }
+}
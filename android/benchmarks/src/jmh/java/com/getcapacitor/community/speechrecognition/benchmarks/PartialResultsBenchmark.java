@@ -0,0 +1,88 @@
+package com.getcapacitor.community.speechrecognition.benchmarks;
+
+import com.getcapacitor.community.speechrecognition.CommandSpotter;
+import com.getcapacitor.community.speechrecognition.PartialResultsDeltaEncoder;
+import com.getcapacitor.community.speechrecognition.PartialResultsFilter;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * The work onPartialResults does per callback for one utterance: de-dup, command spotting and delta encoding.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PartialResultsBenchmark {
+
+    @Param({ "1", "5" })
+    int nBest;
+
+    @Param({ "10", "100" })
+    int words;
+
+    private List<List<String>> partials;
+    private final PartialResultsFilter filter = new PartialResultsFilter();
+    private final PartialResultsDeltaEncoder encoder = new PartialResultsDeltaEncoder();
+    private final CommandSpotter spotter = new CommandSpotter();
+
+    @Setup
+    public void setUp() {
+        // Every partial arrives twice, half of the callbacks are duplicates
+        partials = Utterances.growingPartials(new Random(42), nBest, words, 2);
+        spotter.setCommands(Utterances.commands());
+    }
+
+    @Benchmark
+    public int filter() {
+        filter.reset();
+        int accepted = 0;
+        for (List<String> partial : partials) {
+            if (filter.accept(partial)) {
+                accepted++;
+            }
+        }
+        return accepted;
+    }
+
+    @Benchmark
+    public void deltaEncode(Blackhole blackhole) {
+        encoder.reset();
+        for (List<String> partial : partials) {
+            blackhole.consume(encoder.encode(partial));
+        }
+    }
+
+    @Benchmark
+    public void spotCommands(Blackhole blackhole) {
+        spotter.reset();
+        CommandSpotter.Listener listener = (command, index, isFinal) -> blackhole.consume(index);
+        for (List<String> partial : partials) {
+            spotter.spot(partial.get(0), false, listener);
+        }
+    }
+
+    @Benchmark
+    public void pipeline(Blackhole blackhole) {
+        filter.reset();
+        encoder.reset();
+        spotter.reset();
+        CommandSpotter.Listener listener = (command, index, isFinal) -> blackhole.consume(index);
+        for (List<String> partial : partials) {
+            if (!filter.accept(partial)) {
+                continue;
+            }
+            spotter.spot(partial.get(0), false, listener);
+            blackhole.consume(encoder.encode(partial));
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.getcapacitor.community.speechrecognition.benchmarks;
+
+import com.getcapacitor.JSArray;
+import com.getcapacitor.JSObject;
+import com.getcapacitor.community.speechrecognition.FuzzyVocabulary;
+import com.getcapacitor.community.speechrecognition.ScoredMatches;
+import com.getcapacitor.community.speechrecognition.TranscriptStore;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Building the payload of a final result the way onResults does, at different n-best sizes and lengths.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResultPayloadBenchmark {
+
+    @Param({ "1", "5", "10" })
+    int nBest;
+
+    @Param({ "5", "50", "500" })
+    int words;
+
+    private ArrayList<String> matches;
+    private float[] scores;
+    private FuzzyVocabulary vocabulary;
+    private TranscriptStore transcript;
+    private long timestamp = 0;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        matches = new ArrayList<>(Utterances.nBest(random, nBest, words));
+        scores = new float[nBest];
+        for (int i = 0; i < nBest; i++) {
+            scores[i] = random.nextFloat();
+        }
+        List<String> entries = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            entries.add(Utterances.sentence(random, 1 + random.nextInt(4)));
+        }
+        vocabulary = FuzzyVocabulary.build(entries, 3, -1, 10);
+        transcript = new TranscriptStore();
+    }
+
+    @Benchmark
+    public String partialPayload() {
+        JSObject ret = new JSObject();
+        ret.put("matches", new JSArray(matches));
+        return ret.toString();
+    }
+
+    @Benchmark
+    public String scoredPayload() {
+        return ScoredMatches.of(matches, scores, 0.2f).putInto(new JSObject()).put("status", "success").toString();
+    }
+
+    @Benchmark
+    public String scoredPayloadWithVocabulary() {
+        ScoredMatches scored = ScoredMatches.of(matches, scores, 0.2f);
+        JSObject payload = scored.putInto(new JSObject());
+        payload.put("vocabularyMatches", vocabulary.match(scored.matches));
+        return payload.toString();
+    }
+
+    @Benchmark
+    public void transcriptAppend() {
+        transcript.append(matches.get(0), timestamp, timestamp);
+        timestamp++;
+    }
+
+    @Benchmark
+    public String transcriptPage(FilledTranscript filled) {
+        return filled.transcript.page(499, 100).toString();
+    }
+
+    @State(Scope.Thread)
+    public static class FilledTranscript {
+
+        final TranscriptStore transcript = new TranscriptStore();
+
+        @Setup
+        public void setUp(ResultPayloadBenchmark benchmark) {
+            for (int i = 0; i < 1000; i++) {
+                transcript.append(benchmark.matches.get(0), i, i);
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.getcapacitor.community.speechrecognition.benchmarks;
+
+import com.getcapacitor.community.speechrecognition.LatencyHistogram;
+import com.getcapacitor.community.speechrecognition.SessionStateMachine;
+import com.getcapacitor.community.speechrecognition.SessionStateMachine.State;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Session state transitions while the main thread, the plugin thread and the
+ * restart path race on the same machine, next to the metrics reads that
+ * share its counters.
+ */
+@org.openjdk.jmh.annotations.State(Scope.Group)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SessionStateBenchmark {
+
+    private final SessionStateMachine sessionState = new SessionStateMachine();
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private long sample = 0;
+
+    @Setup
+    public void setUp() {
+        sessionState.force(State.LISTENING);
+    }
+
+    @Benchmark
+    @Group("uncontended")
+    @GroupThreads(1)
+    public boolean restartCycle() {
+        sessionState.transition(SessionStateMachine.ACTIVE, State.RESTARTING);
+        return sessionState.transition(State.RESTARTING, State.LISTENING);
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(2)
+    public boolean contendedRestart() {
+        // Both threads try to restart, the losers see false like a late callback does
+        if (sessionState.transition(SessionStateMachine.ACTIVE, State.RESTARTING)) {
+            return sessionState.transition(State.RESTARTING, State.LISTENING);
+        }
+        return false;
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(1)
+    public boolean contendedStopStart() {
+        sessionState.transition(SessionStateMachine.ACTIVE, State.STOPPING);
+        sessionState.transition(State.STOPPING, State.IDLE);
+        return sessionState.transition(State.IDLE, State.LISTENING);
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(1)
+    public boolean contendedRead() {
+        return sessionState.isActive();
+    }
+
+    @Benchmark
+    @Group("metrics")
+    @GroupThreads(2)
+    public void recordLatency() {
+        histogram.record((sample++ & 1023) * 1000000L);
+    }
+
+    @Benchmark
+    @Group("metrics")
+    @GroupThreads(1)
+    public Object snapshotLatency() {
+        return histogram.snapshot();
+    }
+}
@@ -0,0 +1,104 @@
+package com.getcapacitor.community.speechrecognition.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic recognizer-like text, so runs on different machines see the same input.
+ */
+final class Utterances {
+
+    private static final String[] WORDS = {
+        "turn",
+        "on",
+        "the",
+        "kitchen",
+        "lights",
+        "please",
+        "set",
+        "a",
+        "timer",
+        "for",
+        "twenty",
+        "minutes",
+        "play",
+        "some",
+        "music",
+        "in",
+        "living",
+        "room",
+        "what",
+        "is",
+        "weather",
+        "tomorrow",
+        "call",
+        "mom",
+        "and",
+        "remind",
+        "me",
+        "to",
+        "buy",
+        "milk"
+    };
+
+    private Utterances() {}
+
+    static String sentence(Random random, int words) {
+        StringBuilder ret = new StringBuilder(words * 6);
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                ret.append(' ');
+            }
+            ret.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return ret.toString();
+    }
+
+    /**
+     * An n-best list whose alternatives differ in their last word, like a recognizer's.
+     */
+    static List<String> nBest(Random random, int size, int words) {
+        String head = sentence(random, Math.max(0, words - 1));
+        List<String> ret = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String last = WORDS[(i * 7 + words) % WORDS.length];
+            ret.add(head.isEmpty() ? last : head + " " + last);
+        }
+        return ret;
+    }
+
+    /**
+     * Partial results of one utterance as they grow word by word, each repeated like recognizers do.
+     */
+    static List<List<String>> growingPartials(Random random, int size, int words, int repeats) {
+        String full = sentence(random, words);
+        String[] split = full.split(" ");
+        List<List<String>> ret = new ArrayList<>();
+        StringBuilder text = new StringBuilder();
+        for (String word : split) {
+            if (text.length() > 0) {
+                text.append(' ');
+            }
+            text.append(word);
+            List<String> partial = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                partial.add(i == 0 ? text.toString() : text + " " + WORDS[i % WORDS.length]);
+            }
+            for (int r = 0; r < repeats; r++) {
+                ret.add(partial);
+            }
+        }
+        return ret;
+    }
+
+    static List<String> commands() {
+        List<String> ret = new ArrayList<>();
+        ret.add("turn on the lights");
+        ret.add("set a timer");
+        ret.add("play some music");
+        ret.add("call mom");
+        ret.add("stop");
+        return ret;
+    }
+}
@@ -0,0 +1,23 @@
+package android.os;
+
+/**
+ * JVM stand-in for the few SystemClock methods the benchmarked classes use.
+ */
+public final class SystemClock {
+
+    private static final long ORIGIN = System.nanoTime();
+
+    private SystemClock() {}
+
+    public static long elapsedRealtimeNanos() {
+        return System.nanoTime() - ORIGIN;
+    }
+
+    public static long elapsedRealtime() {
+        return elapsedRealtimeNanos() / 1000000;
+    }
+
+    public static long uptimeMillis() {
+        return elapsedRealtime();
+    }
+}
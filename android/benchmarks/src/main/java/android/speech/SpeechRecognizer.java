@@ -0,0 +1,19 @@
+package android.speech;
+
+/**
+ * JVM stand-in for the SpeechRecognizer error codes the benchmarked classes use.
+ */
+public final class SpeechRecognizer {
+
+    public static final int ERROR_NETWORK_TIMEOUT = 1;
+    public static final int ERROR_NETWORK = 2;
+    public static final int ERROR_AUDIO = 3;
+    public static final int ERROR_SERVER = 4;
+    public static final int ERROR_CLIENT = 5;
+    public static final int ERROR_SPEECH_TIMEOUT = 6;
+    public static final int ERROR_NO_MATCH = 7;
+    public static final int ERROR_RECOGNIZER_BUSY = 8;
+    public static final int ERROR_INSUFFICIENT_PERMISSIONS = 9;
+
+    private SpeechRecognizer() {}
+}
@@ -0,0 +1,114 @@
+package com.getcapacitor.community.speechrecognition;
+
+import android.os.SystemClock;
+import android.speech.SpeechRecognizer;
+import java.util.Random;
+
+/**
+ * Default restart scheduler.
+ *
+ * The base delay follows the observed time-to-ready of the recognition service,
+ * grows exponentially with jitter while sessions keep failing without speech,
+ * and is stretched further when the number of unproductive restarts within a
+ * window would exceed the configured cap. Restarts after a session that heard
+ * speech are never capped, dictation keeps its pace however long it runs.
+ */
+public class AdaptiveRestartScheduler implements RestartScheduler {
+
+    static final long MIN_DELAY_MS = 20;
+    static final long DEFAULT_DELAY_MS = 100;
+    static final long MAX_BASE_DELAY_MS = 250;
+    static final long MAX_DELAY_MS = 5000;
+    static final long HEALTHY_SESSION_MS = 1000;
+    static final int MAX_BUSY_RETRIES = 5;
+    static final int MAX_RESTARTS_PER_WINDOW = 20;
+    static final long RESTART_WINDOW_MS = 60000;
+    static final double JITTER = 0.2;
+    static final double SMOOTHING = 0.3;
+
+    private final Random random = new Random();
+    private final long[] restartTimes = new long[MAX_RESTARTS_PER_WINDOW];
+    private int restartIndex = 0;
+    private int restartCount = 0;
+
+    private double timeToReadyMs = -1;
+    private int consecutiveFailures = 0;
+    private int busyRetries = 0;
+    private long readyAt = 0;
+    private boolean speechDetected = false;
+
+    @Override
+    public long nextRestartDelayMs(int cause, boolean gapless) {
+        long now = SystemClock.elapsedRealtime();
+
+        if (cause == SpeechRecognizer.ERROR_RECOGNIZER_BUSY) {
+            if (++busyRetries > MAX_BUSY_RETRIES) {
+                return -1;
+            }
+            consecutiveFailures++;
+        } else if (!speechDetected && (readyAt == 0 || now - readyAt < HEALTHY_SESSION_MS)) {
+            // The session ended before it could have heard anything, the service is flapping
+            consecutiveFailures++;
+        } else {
+            consecutiveFailures = 0;
+            busyRetries = 0;
+        }
+        boolean productive = speechDetected && consecutiveFailures == 0;
+
+        long delay = gapless ? 0 : baseDelayMs();
+        if (consecutiveFailures > 0) {
+            long backoff = Math.max(delay, DEFAULT_DELAY_MS) << Math.min(consecutiveFailures - 1, 16);
+            delay = Math.min(backoff, MAX_DELAY_MS);
+            delay += (long) (delay * JITTER * (random.nextDouble() * 2 - 1));
+        }
+
+        // Cap the rate of failed and no-speech restarts: wait until the oldest one in the window has expired
+        if (!productive) {
+            if (restartCount == MAX_RESTARTS_PER_WINDOW) {
+                long oldest = restartTimes[restartIndex];
+                delay = Math.max(delay, oldest + RESTART_WINDOW_MS - now);
+            } else {
+                restartCount++;
+            }
+            restartTimes[restartIndex] = now + delay;
+            restartIndex = (restartIndex + 1) % MAX_RESTARTS_PER_WINDOW;
+        }
+
+        readyAt = 0;
+        speechDetected = false;
+        return delay;
+    }
+
+    @Override
+    public void onReady(long timeToReadyMs) {
+        readyAt = SystemClock.elapsedRealtime();
+        if (this.timeToReadyMs < 0) {
+            this.timeToReadyMs = timeToReadyMs;
+        } else {
+            this.timeToReadyMs += SMOOTHING * (timeToReadyMs - this.timeToReadyMs);
+        }
+    }
+
+    @Override
+    public void onSpeech() {
+        speechDetected = true;
+    }
+
+    @Override
+    public void reset() {
+        consecutiveFailures = 0;
+        busyRetries = 0;
+        readyAt = 0;
+        speechDetected = false;
+    }
+
+    /**
+     * A fraction of the time-to-ready: fast services get restarted sooner than slow ones.
+     */
+    private long baseDelayMs() {
+        if (timeToReadyMs < 0) {
+            return DEFAULT_DELAY_MS;
+        }
+        return Math.max(MIN_DELAY_MS, Math.min(MAX_BASE_DELAY_MS, (long) (timeToReadyMs / 4)));
+    }
+}
@@ -0,0 +1,105 @@
+package com.getcapacitor.community.speechrecognition;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Collects the audio passed to onBufferReceived in a pre-allocated direct ring buffer.
+ *
+ * Copying a callback buffer allocates nothing; once the ring is full the oldest
+ * audio is overwritten. At the end of a session the ring is written, oldest
+ * byte first, to a memory-mapped file.
+ *
+ * Note that recognition services are not required to call onBufferReceived, on
+ * many devices the capture stays empty.
+ */
+public class AudioCaptureBuffer {
+
+    static final int DEFAULT_CAPACITY_BYTES = 2 * 1024 * 1024;
+
+    private final ByteBuffer ring;
+    private long written = 0;
+
+    public AudioCaptureBuffer(int capacityBytes) {
+        this.ring = ByteBuffer.allocateDirect(capacityBytes);
+    }
+
+    public int capacity() {
+        return ring.capacity();
+    }
+
+    public synchronized void write(byte[] buffer) {
+        if (buffer == null || buffer.length == 0) {
+            return;
+        }
+        int capacity = ring.capacity();
+        int offset = 0;
+        int length = buffer.length;
+
+        // Only the tail of an oversized buffer fits in the ring
+        if (length > capacity) {
+            offset = length - capacity;
+            written += offset;
+            length = capacity;
+        }
+
+        while (length > 0) {
+            int position = (int) (written % capacity);
+            int chunk = Math.min(length, capacity - position);
+            ring.position(position);
+            ring.put(buffer, offset, chunk);
+            offset += chunk;
+            length -= chunk;
+            written += chunk;
+        }
+    }
+
+    /**
+     * Number of bytes currently held, at most the capacity.
+     */
+    public synchronized int size() {
+        return (int) Math.min(written, ring.capacity());
+    }
+
+    /**
+     * Total number of bytes received, including those overwritten.
+     */
+    public synchronized long totalBytes() {
+        return written;
+    }
+
+    public synchronized void clear() {
+        written = 0;
+    }
+
+    /**
+     * Writes the captured audio to the given file through a memory mapping.
+     */
+    public synchronized void flushTo(File file) throws IOException {
+        int size = size();
+        int capacity = ring.capacity();
+        int start = written > capacity ? (int) (written % capacity) : 0;
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw"); FileChannel channel = raf.getChannel()) {
+            raf.setLength(size);
+            if (size == 0) {
+                return;
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+
+            ByteBuffer view = ring.duplicate();
+            int firstChunk = Math.min(size, capacity - start);
+            view.limit(start + firstChunk).position(start);
+            mapped.put(view);
+            if (firstChunk < size) {
+                view.limit(size - firstChunk).position(0);
+                mapped.put(view);
+            }
+            mapped.force();
+        }
+    }
+}
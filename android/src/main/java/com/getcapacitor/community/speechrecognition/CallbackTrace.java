@@ -0,0 +1,342 @@
+package com.getcapacitor.community.speechrecognition;
+
+import android.os.Bundle;
+import android.os.SystemClock;
+import android.speech.SpeechRecognizer;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact binary recording of the RecognitionListener callbacks of real
+ * sessions, so they can be replayed in load tests.
+ *
+ * A trace starts with the magic "SRT" and a version byte, followed by one
+ * record per callback: the callback type, the time since the previous record
+ * in microseconds and the payload. Numbers are unsigned varints, strings are
+ * UTF-8 prefixed with their length and floats are 4 bytes big-endian. Audio
+ * buffers are recorded by size only. Recording stops silently at MAX_BYTES.
+ *
+ * Callbacks are ignored while no trace is being recorded. They come from the
+ * main thread while the trace is started and saved from the plugin thread.
+ */
+public class CallbackTrace {
+
+    public static final int READY = 1;
+    public static final int BEGINNING_OF_SPEECH = 2;
+    public static final int RMS_CHANGED = 3;
+    public static final int BUFFER_RECEIVED = 4;
+    public static final int END_OF_SPEECH = 5;
+    public static final int ERROR = 6;
+    public static final int RESULTS = 7;
+    public static final int PARTIAL_RESULTS = 8;
+    public static final int EVENT = 9;
+
+    static final byte[] MAGIC = { 'S', 'R', 'T' };
+    static final int VERSION = 1;
+    static final int MAX_BYTES = 8 * 1024 * 1024;
+
+    /**
+     * One recorded callback. Fields that do not apply to the type are 0 or null.
+     */
+    public static class Record {
+
+        public final int type;
+        /**
+         * time since the start of the trace, with microsecond resolution
+         */
+        public final long offsetMicros;
+        /**
+         * error code, event type or buffer size
+         */
+        public final int code;
+        public final float rmsdB;
+        public final List<String> matches;
+        public final float[] confidences;
+
+        Record(int type, long offsetMicros, int code, float rmsdB, List<String> matches, float[] confidences) {
+            this.type = type;
+            this.offsetMicros = offsetMicros;
+            this.code = code;
+            this.rmsdB = rmsdB;
+            this.matches = matches;
+            this.confidences = confidences;
+        }
+    }
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream(64 * 1024);
+    private volatile boolean recording = false;
+    private long startNanos = 0;
+    private long lastMicros = 0;
+    private int records = 0;
+    private int dropped = 0;
+
+    /**
+     * Starts a new trace, dropping the previous one.
+     */
+    public synchronized void start() {
+        out.reset();
+        out.write(MAGIC, 0, MAGIC.length);
+        out.write(VERSION);
+        startNanos = SystemClock.elapsedRealtimeNanos();
+        lastMicros = 0;
+        records = 0;
+        dropped = 0;
+        recording = true;
+    }
+
+    /**
+     * Stops recording, returns false if no trace was being recorded. The trace can be saved afterwards.
+     */
+    public synchronized boolean stop() {
+        boolean wasRecording = recording;
+        recording = false;
+        return wasRecording;
+    }
+
+    public boolean isRecording() {
+        return recording;
+    }
+
+    public void onReadyForSpeech() {
+        record(READY);
+    }
+
+    public void onBeginningOfSpeech() {
+        record(BEGINNING_OF_SPEECH);
+    }
+
+    public void onRmsChanged(float rmsdB) {
+        if (!recording) {
+            return;
+        }
+        synchronized (this) {
+            if (begin(RMS_CHANGED)) {
+                writeFloat(rmsdB);
+            }
+        }
+    }
+
+    public void onBufferReceived(byte[] buffer) {
+        if (!recording) {
+            return;
+        }
+        synchronized (this) {
+            if (begin(BUFFER_RECEIVED)) {
+                writeVarint(buffer != null ? buffer.length : 0);
+            }
+        }
+    }
+
+    public void onEndOfSpeech() {
+        record(END_OF_SPEECH);
+    }
+
+    public void onError(int error) {
+        if (!recording) {
+            return;
+        }
+        synchronized (this) {
+            if (begin(ERROR)) {
+                writeVarint(error);
+            }
+        }
+    }
+
+    public void onResults(Bundle results) {
+        recordMatches(RESULTS, results);
+    }
+
+    public void onPartialResults(Bundle partialResults) {
+        recordMatches(PARTIAL_RESULTS, partialResults);
+    }
+
+    public void onEvent(int eventType) {
+        if (!recording) {
+            return;
+        }
+        synchronized (this) {
+            if (begin(EVENT)) {
+                writeVarint(eventType);
+            }
+        }
+    }
+
+    public synchronized int getRecords() {
+        return records;
+    }
+
+    public synchronized int getDropped() {
+        return dropped;
+    }
+
+    public synchronized int size() {
+        return out.size();
+    }
+
+    public synchronized void writeTo(File file) throws IOException {
+        try (OutputStream stream = new FileOutputStream(file)) {
+            out.writeTo(stream);
+        }
+    }
+
+    public synchronized byte[] toByteArray() {
+        return out.toByteArray();
+    }
+
+    /**
+     * Parses a trace written by {@link #writeTo(File)}.
+     */
+    public static List<Record> read(InputStream stream) throws IOException {
+        DataInputStream in = new DataInputStream(stream);
+        for (byte expected : MAGIC) {
+            if (in.readByte() != expected) {
+                throw new IOException("Not a callback trace");
+            }
+        }
+        int version = in.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported callback trace version " + version);
+        }
+
+        List<Record> ret = new ArrayList<>();
+        long offset = 0;
+        while (true) {
+            int type = in.read();
+            if (type < 0) {
+                return ret;
+            }
+            offset += readVarint(in);
+            int code = 0;
+            float rms = 0;
+            List<String> matches = null;
+            float[] confidences = null;
+            switch (type) {
+                case RMS_CHANGED:
+                    rms = in.readFloat();
+                    break;
+                case BUFFER_RECEIVED:
+                case ERROR:
+                case EVENT:
+                    code = (int) readVarint(in);
+                    break;
+                case RESULTS:
+                case PARTIAL_RESULTS:
+                    int count = (int) readVarint(in);
+                    matches = new ArrayList<>(count);
+                    for (int i = 0; i < count; i++) {
+                        byte[] text = new byte[(int) readVarint(in)];
+                        in.readFully(text);
+                        matches.add(new String(text, StandardCharsets.UTF_8));
+                    }
+                    int scores = (int) readVarint(in);
+                    if (scores > 0) {
+                        confidences = new float[scores];
+                        for (int i = 0; i < scores; i++) {
+                            confidences[i] = in.readFloat();
+                        }
+                    }
+                    break;
+                case READY:
+                case BEGINNING_OF_SPEECH:
+                case END_OF_SPEECH:
+                    break;
+                default:
+                    throw new IOException("Unknown callback type " + type + " at " + offset + " us");
+            }
+            ret.add(new Record(type, offset, code, rms, matches, confidences));
+        }
+    }
+
+    private void record(int type) {
+        if (!recording) {
+            return;
+        }
+        synchronized (this) {
+            begin(type);
+        }
+    }
+
+    private synchronized void recordMatches(int type, Bundle bundle) {
+        if (!recording) {
+            return;
+        }
+        ArrayList<String> matches = bundle != null ? bundle.getStringArrayList(SpeechRecognizer.RESULTS_RECOGNITION) : null;
+        float[] confidences = bundle != null ? bundle.getFloatArray(SpeechRecognizer.CONFIDENCE_SCORES) : null;
+        if (!begin(type)) {
+            return;
+        }
+        writeVarint(matches != null ? matches.size() : 0);
+        if (matches != null) {
+            for (String match : matches) {
+                byte[] text = (match != null ? match : "").getBytes(StandardCharsets.UTF_8);
+                writeVarint(text.length);
+                out.write(text, 0, text.length);
+            }
+        }
+        writeVarint(confidences != null ? confidences.length : 0);
+        if (confidences != null) {
+            for (float confidence : confidences) {
+                writeFloat(confidence);
+            }
+        }
+    }
+
+    /**
+     * Writes the record header, returns false once the trace is full.
+     */
+    private boolean begin(int type) {
+        if (!recording) {
+            return false;
+        }
+        if (out.size() >= MAX_BYTES) {
+            dropped++;
+            return false;
+        }
+        long micros = (SystemClock.elapsedRealtimeNanos() - startNanos) / 1000;
+        out.write(type);
+        writeVarint(Math.max(0, micros - lastMicros));
+        lastMicros = micros;
+        records++;
+        return true;
+    }
+
+    private void writeVarint(long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private void writeFloat(float value) {
+        int bits = Float.floatToIntBits(value);
+        out.write(bits >>> 24);
+        out.write(bits >>> 16);
+        out.write(bits >>> 8);
+        out.write(bits);
+    }
+
+    private static long readVarint(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException("Truncated callback trace");
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in callback trace");
+    }
+}
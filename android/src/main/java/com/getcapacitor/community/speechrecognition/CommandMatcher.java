@@ -0,0 +1,220 @@
+package com.getcapacitor.community.speechrecognition;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Aho-Corasick automaton over a list of command phrases.
+ *
+ * Phrases are matched case-insensitively with runs of whitespace collapsed,
+ * and only as whole words. Matching is linear in the length of the text and
+ * does not allocate. The automaton is immutable once compiled, so it can be
+ * built on one thread and used on another.
+ */
+public class CommandMatcher {
+
+    public interface Hit {
+        void onMatch(int command);
+    }
+
+    private final String[] commands;
+    private final int[] lengths;
+    // Edges of node n are keys/targets[edgeStart[n] .. edgeStart[n + 1]), keys sorted
+    private final int[] edgeStart;
+    private final char[] keys;
+    private final int[] targets;
+    private final int[] fail;
+    // Command ending at the node, or -1, and the next node on the fail chain that ends a command
+    private final int[] output;
+    private final int[] dictionary;
+
+    private CommandMatcher(String[] commands, List<TreeMap<Character, Integer>> trie, int[] output, int[] lengths) {
+        this.commands = commands;
+        this.lengths = lengths;
+        this.output = output;
+
+        int nodes = trie.size();
+        int edges = 0;
+        for (TreeMap<Character, Integer> children : trie) {
+            edges += children.size();
+        }
+        edgeStart = new int[nodes + 1];
+        keys = new char[edges];
+        targets = new int[edges];
+        int e = 0;
+        for (int n = 0; n < nodes; n++) {
+            edgeStart[n] = e;
+            for (Map.Entry<Character, Integer> child : trie.get(n).entrySet()) {
+                keys[e] = child.getKey();
+                targets[e] = child.getValue();
+                e++;
+            }
+        }
+        edgeStart[nodes] = e;
+
+        fail = new int[nodes];
+        dictionary = new int[nodes];
+        Arrays.fill(dictionary, -1);
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int i = edgeStart[0]; i < edgeStart[1]; i++) {
+            queue.add(targets[i]);
+        }
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (int i = edgeStart[node]; i < edgeStart[node + 1]; i++) {
+                int child = targets[i];
+                int f = fail[node];
+                int next;
+                while ((next = child(f, keys[i])) < 0 && f != 0) {
+                    f = fail[f];
+                }
+                fail[child] = next >= 0 && next != child ? next : 0;
+                dictionary[child] = output[fail[child]] >= 0 ? fail[child] : dictionary[fail[child]];
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * Compiles the phrases, empty ones are ignored. Indexes in hits refer to the given list.
+     */
+    public static CommandMatcher compile(List<String> phrases) {
+        List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        List<Integer> outputs = new ArrayList<>();
+        outputs.add(-1);
+        String[] commands = phrases.toArray(new String[0]);
+        int[] lengths = new int[commands.length];
+
+        for (int c = 0; c < commands.length; c++) {
+            String phrase = normalize(commands[c]);
+            lengths[c] = phrase.length();
+            if (phrase.isEmpty()) {
+                continue;
+            }
+            int node = 0;
+            for (int i = 0; i < phrase.length(); i++) {
+                Integer next = trie.get(node).get(phrase.charAt(i));
+                if (next == null) {
+                    next = trie.size();
+                    trie.get(node).put(phrase.charAt(i), next);
+                    trie.add(new TreeMap<>());
+                    outputs.add(-1);
+                }
+                node = next;
+            }
+            // Duplicates keep the first index
+            if (outputs.get(node) < 0) {
+                outputs.set(node, c);
+            }
+        }
+
+        int[] output = new int[outputs.size()];
+        for (int i = 0; i < output.length; i++) {
+            output[i] = outputs.get(i);
+        }
+        return new CommandMatcher(commands, trie, output, lengths);
+    }
+
+    public int size() {
+        return commands.length;
+    }
+
+    public String get(int command) {
+        return commands[command];
+    }
+
+    /**
+     * Reports every whole-word occurrence of a command in the text, in order of their end.
+     */
+    public void match(CharSequence text, Hit hit) {
+        int node = 0;
+        char previous = ' ';
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = fold(text.charAt(i));
+            if (c == ' ' && previous == ' ') {
+                continue;
+            }
+            previous = c;
+
+            int next;
+            while ((next = child(node, c)) < 0 && node != 0) {
+                node = fail[node];
+            }
+            node = Math.max(next, 0);
+
+            boolean boundaryAfter = i + 1 >= length || !Character.isLetterOrDigit(text.charAt(i + 1));
+            if (!boundaryAfter) {
+                continue;
+            }
+            for (int n = output[node] >= 0 ? node : dictionary[node]; n >= 0; n = dictionary[n]) {
+                int command = output[n];
+                if (isBoundaryBefore(text, i, lengths[command])) {
+                    hit.onMatch(command);
+                }
+            }
+        }
+    }
+
+    static String normalize(String phrase) {
+        StringBuilder ret = new StringBuilder(phrase.length());
+        char previous = ' ';
+        for (int i = 0; i < phrase.length(); i++) {
+            char c = fold(phrase.charAt(i));
+            if (c == ' ' && previous == ' ') {
+                continue;
+            }
+            ret.append(c);
+            previous = c;
+        }
+        int end = ret.length();
+        while (end > 0 && ret.charAt(end - 1) == ' ') {
+            end--;
+        }
+        return ret.substring(0, end);
+    }
+
+    private static char fold(char c) {
+        return Character.isWhitespace(c) ? ' ' : Character.toLowerCase(c);
+    }
+
+    /**
+     * Walks back over the normalized length of the match and checks the character before it.
+     */
+    private static boolean isBoundaryBefore(CharSequence text, int end, int normalizedLength) {
+        int i = end;
+        int remaining = normalizedLength;
+        char previous = ' ';
+        while (i >= 0 && remaining > 0) {
+            char c = fold(text.charAt(i));
+            if (!(c == ' ' && previous == ' ')) {
+                remaining--;
+            }
+            previous = c;
+            i--;
+        }
+        return i < 0 || !Character.isLetterOrDigit(text.charAt(i));
+    }
+
+    private int child(int node, char c) {
+        int lo = edgeStart[node];
+        int hi = edgeStart[node + 1] - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            char key = keys[mid];
+            if (key < c) {
+                lo = mid + 1;
+            } else if (key > c) {
+                hi = mid - 1;
+            } else {
+                return targets[mid];
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,75 @@
+package com.getcapacitor.community.speechrecognition;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Spots registered commands in partial and final results.
+ *
+ * Partial results repeat the text recognized so far, so each occurrence of a
+ * command is reported once per utterance: the nth occurrence of a command is
+ * only reported the first time a result contains it n times.
+ *
+ * Commands can be replaced from any thread, spotting happens on the main thread.
+ * Counts are kept in arrays indexed by command, so spotting does not allocate.
+ */
+public class CommandSpotter implements CommandMatcher.Hit {
+
+    public interface Listener {
+        void onCommand(String command, int index, boolean isFinal);
+    }
+
+    private volatile CommandMatcher matcher;
+    private CommandMatcher spottedWith;
+    private int[] reported = new int[0];
+    private int[] occurrences = new int[0];
+    private Listener listener;
+    private boolean isFinal;
+
+    /**
+     * Compiles the commands, an empty list disables spotting. Returns the number of commands.
+     */
+    public int setCommands(List<String> commands) {
+        matcher = commands.isEmpty() ? null : CommandMatcher.compile(commands);
+        return commands.size();
+    }
+
+    public boolean isEnabled() {
+        return matcher != null;
+    }
+
+    public void spot(String text, boolean isFinal, Listener listener) {
+        CommandMatcher current = matcher;
+        if (current == null || text == null) {
+            return;
+        }
+        if (current != spottedWith) {
+            // Indexes of a previous command list mean nothing anymore
+            reported = new int[current.size()];
+            occurrences = new int[current.size()];
+            spottedWith = current;
+        }
+        this.listener = listener;
+        this.isFinal = isFinal;
+        Arrays.fill(occurrences, 0);
+        current.match(text, this);
+        this.listener = null;
+    }
+
+    /**
+     * Starts a new utterance.
+     */
+    public void reset() {
+        Arrays.fill(reported, 0);
+    }
+
+    @Override
+    public void onMatch(int command) {
+        int seen = ++occurrences[command];
+        if (seen <= reported[command]) {
+            return;
+        }
+        reported[command] = seen;
+        listener.onCommand(spottedWith.get(command), command, isFinal);
+    }
+}
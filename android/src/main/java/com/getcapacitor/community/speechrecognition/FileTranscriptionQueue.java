@@ -0,0 +1,484 @@
+package com.getcapacitor.community.speechrecognition;
+
+import android.content.Context;
+import android.content.Intent;
+import android.media.AudioFormat;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.ParcelFileDescriptor;
+import android.os.SystemClock;
+import android.speech.RecognitionListener;
+import android.speech.RecognizerIntent;
+import android.speech.SpeechRecognizer;
+import com.getcapacitor.JSObject;
+import com.getcapacitor.Logger;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Transcribes recorded audio files by streaming them through a pipe into the
+ * recognizer (API 33+ EXTRA_AUDIO_SOURCE), a few files at a time.
+ *
+ * WAV files must hold 16-bit PCM, any other file is read as raw 16 kHz mono
+ * 16-bit PCM like the files written by getCapturedAudio(). Files are recognized
+ * as segmented sessions so long recordings are not cut at the first pause.
+ *
+ * The queue is only touched on the handler thread; file reading and pipe
+ * writing happen on worker threads.
+ */
+public class FileTranscriptionQueue {
+
+    public static final String TAG = "FileTranscriptionQueue";
+
+    public interface Listener {
+        void onProgress(JSObject progress);
+    }
+
+    static final int QUEUE_CAPACITY = 4096;
+    static final int MAX_CONCURRENCY = 4;
+    static final int MAX_BUSY_RETRIES = 3;
+    static final long BUSY_RETRY_DELAY_MS = 500;
+    static final int RAW_SAMPLE_RATE = 16000;
+    static final int CHUNK_BYTES = 8192;
+
+    private final Context context;
+    private final Handler handler;
+    private final Listener listener;
+    private final ArrayDeque<Job> queue = new ArrayDeque<>();
+    private final ArrayDeque<Job> busyRetries = new ArrayDeque<>();
+    private final List<Job> running = new ArrayList<>();
+    private final Runnable busyRetryTask = this::retryBusy;
+    private ExecutorService writers;
+    private int concurrency = 1;
+    private int active = 0;
+    private boolean destroyed = false;
+
+    private long completed = 0;
+    private long failed = 0;
+    private long audioMs = 0;
+    private long busyNanos = 0;
+    private long busySince = 0;
+
+    public FileTranscriptionQueue(Context context, Handler handler, Listener listener) {
+        this.context = context;
+        this.handler = handler;
+        this.listener = listener;
+    }
+
+    /**
+     * Queues the files, returns false without queueing any if the queue would overflow.
+     */
+    public synchronized boolean enqueue(List<String> paths, String language, int concurrency) {
+        if (queue.size() + paths.size() > QUEUE_CAPACITY) {
+            return false;
+        }
+        for (String path : paths) {
+            queue.add(new Job(path, language));
+        }
+        this.concurrency = Math.max(1, Math.min(MAX_CONCURRENCY, concurrency));
+        handler.post(this::pump);
+        return true;
+    }
+
+    public synchronized JSObject getMetrics() {
+        long wallNanos = busyNanos + (busySince != 0 ? SystemClock.elapsedRealtimeNanos() - busySince : 0);
+        JSObject ret = new JSObject();
+        ret.put("queued", queue.size() + busyRetries.size());
+        ret.put("active", active);
+        ret.put("completed", completed);
+        ret.put("failed", failed);
+        ret.put("audioSeconds", audioMs / 1000.0);
+        ret.put("wallSeconds", wallNanos / 1e9);
+        ret.put("audioSecondsPerWallSecond", wallNanos > 0 ? audioMs / 1000.0 / (wallNanos / 1e9) : 0);
+        return ret;
+    }
+
+    /**
+     * Drops queued files and shuts the workers down, files being transcribed are abandoned
+     * and their recognizers cancelled and destroyed on the handler thread.
+     */
+    public synchronized void destroy() {
+        destroyed = true;
+        queue.clear();
+        busyRetries.clear();
+        handler.removeCallbacks(busyRetryTask);
+        if (writers != null) {
+            writers.shutdownNow();
+            writers = null;
+        }
+        List<Job> abandoned = new ArrayList<>(running);
+        running.clear();
+        handler.post(() -> {
+            for (Job job : abandoned) {
+                job.abandon();
+            }
+        });
+    }
+
+    private synchronized void pump() {
+        // A pump posted before destroy() must not bring the workers back
+        if (destroyed) {
+            return;
+        }
+        while (active < concurrency && !queue.isEmpty()) {
+            if (writers == null) {
+                writers = Executors.newFixedThreadPool(MAX_CONCURRENCY);
+            }
+            if (busySince == 0) {
+                busySince = SystemClock.elapsedRealtimeNanos();
+            }
+            active++;
+            Job job = queue.poll();
+            running.add(job);
+            writers.execute(job::prepare);
+        }
+    }
+
+    private synchronized void finish(Job job, String error, int errorCode) {
+        active--;
+        running.remove(job);
+        if (errorCode == SpeechRecognizer.ERROR_RECOGNIZER_BUSY && job.attempts < MAX_BUSY_RETRIES) {
+            // The service is saturated: leave the slot free and try again once another file released it
+            job.attempts++;
+            busyRetries.add(job);
+            if (active == 0) {
+                // No other file is left to release it, give the service time to recover
+                handler.removeCallbacks(busyRetryTask);
+                handler.postDelayed(busyRetryTask, BUSY_RETRY_DELAY_MS);
+            }
+            return;
+        }
+
+        if (error == null) {
+            completed++;
+            audioMs += job.audioMs;
+        } else {
+            failed++;
+        }
+        JSObject progress = new JSObject();
+        progress.put("path", job.path);
+        progress.put("status", error == null ? "done" : "error");
+        if (error == null) {
+            progress.put("text", job.text.toString());
+        } else {
+            progress.put("error", error);
+            progress.put("errorCode", errorCode);
+        }
+        progress.put("audioMs", job.audioMs);
+        progress.put("elapsedMs", (SystemClock.elapsedRealtimeNanos() - job.startNanos) / 1e6);
+        progress.put("completed", completed);
+        progress.put("failed", failed);
+        progress.put("queued", queue.size() + busyRetries.size());
+        listener.onProgress(progress);
+
+        // This file released the service, the files it turned away go first
+        requeueBusyRetries();
+        if (active == 0 && queue.isEmpty()) {
+            busyNanos += SystemClock.elapsedRealtimeNanos() - busySince;
+            busySince = 0;
+        }
+        pump();
+    }
+
+    private synchronized void retryBusy() {
+        requeueBusyRetries();
+        pump();
+    }
+
+    private void requeueBusyRetries() {
+        handler.removeCallbacks(busyRetryTask);
+        while (!busyRetries.isEmpty()) {
+            queue.addFirst(busyRetries.pollLast());
+        }
+    }
+
+    /**
+     * PCM layout of a file, parsed from the WAV header or assumed for raw files.
+     */
+    static class PcmSource {
+
+        final int sampleRate;
+        final int channels;
+        final long dataOffset;
+        final long dataBytes;
+
+        PcmSource(int sampleRate, int channels, long dataOffset, long dataBytes) {
+            this.sampleRate = sampleRate;
+            this.channels = channels;
+            this.dataOffset = dataOffset;
+            this.dataBytes = dataBytes;
+        }
+
+        long durationMs() {
+            return dataBytes * 1000 / ((long) sampleRate * channels * 2);
+        }
+
+        static PcmSource open(File file) throws IOException {
+            if (!file.isFile()) {
+                throw new IOException("File not found");
+            }
+            if (!file.getName().toLowerCase(Locale.ROOT).endsWith(".wav")) {
+                return new PcmSource(RAW_SAMPLE_RATE, 1, 0, file.length());
+            }
+
+            try (RandomAccessFile in = new RandomAccessFile(file, "r")) {
+                byte[] header = new byte[12];
+                in.readFully(header);
+                ByteBuffer riff = ByteBuffer.wrap(header).order(ByteOrder.LITTLE_ENDIAN);
+                if (riff.getInt(0) != 0x46464952 || riff.getInt(8) != 0x45564157) {
+                    throw new IOException("Not a WAV file");
+                }
+
+                int sampleRate = 0;
+                int channels = 0;
+                byte[] chunk = new byte[8];
+                while (in.getFilePointer() + 8 <= in.length()) {
+                    in.readFully(chunk);
+                    ByteBuffer view = ByteBuffer.wrap(chunk).order(ByteOrder.LITTLE_ENDIAN);
+                    int id = view.getInt(0);
+                    long size = view.getInt(4) & 0xffffffffL;
+                    if (id == 0x20746d66) {
+                        byte[] fmt = new byte[16];
+                        in.readFully(fmt);
+                        ByteBuffer format = ByteBuffer.wrap(fmt).order(ByteOrder.LITTLE_ENDIAN);
+                        if (format.getShort(0) != 1 || format.getShort(14) != 16) {
+                            throw new IOException("Only 16-bit PCM WAV files are supported");
+                        }
+                        channels = format.getShort(2);
+                        sampleRate = format.getInt(4);
+                        in.seek(in.getFilePointer() + size - 16 + (size & 1));
+                    } else if (id == 0x61746164) {
+                        if (sampleRate == 0) {
+                            throw new IOException("WAV data before format");
+                        }
+                        long available = in.length() - in.getFilePointer();
+                        return new PcmSource(sampleRate, channels, in.getFilePointer(), Math.min(size, available));
+                    } else {
+                        in.seek(in.getFilePointer() + size + (size & 1));
+                    }
+                }
+                throw new IOException("WAV file has no data");
+            }
+        }
+    }
+
+    private class Job implements RecognitionListener {
+
+        final String path;
+        final String language;
+        final StringBuilder text = new StringBuilder();
+        int attempts = 0;
+        long audioMs = 0;
+        long startNanos = 0;
+
+        private SpeechRecognizer recognizer;
+        private ParcelFileDescriptor readSide;
+        private boolean done = false;
+        private boolean abandoned = false;
+
+        Job(String path, String language) {
+            this.path = path;
+            this.language = language;
+        }
+
+        /**
+         * Runs on a worker: opens the file, hands the pipe to the recognizer and streams the audio.
+         */
+        void prepare() {
+            startNanos = SystemClock.elapsedRealtimeNanos();
+            done = false;
+            text.setLength(0);
+
+            File file = new File(path);
+            PcmSource source;
+            ParcelFileDescriptor[] pipe;
+            try {
+                source = PcmSource.open(file);
+                pipe = ParcelFileDescriptor.createPipe();
+            } catch (IOException ex) {
+                handler.post(() -> fail(ex.getMessage(), SpeechRecognizer.ERROR_CLIENT));
+                return;
+            }
+            audioMs = source.durationMs();
+
+            final ParcelFileDescriptor readSide = pipe[0];
+            handler.post(() -> start(source, readSide));
+            stream(file, source, pipe[1]);
+        }
+
+        private void start(PcmSource source, ParcelFileDescriptor readSide) {
+            this.readSide = readSide;
+            if (abandoned) {
+                closeReadSide();
+                return;
+            }
+            try {
+                if (RecognitionEngine.hasOnDeviceService(context)) {
+                    recognizer = SpeechRecognizer.createOnDeviceSpeechRecognizer(context);
+                } else {
+                    recognizer = SpeechRecognizer.createSpeechRecognizer(context);
+                }
+                recognizer.setRecognitionListener(this);
+                recognizer.startListening(intent(source, readSide));
+            } catch (Exception ex) {
+                fail(ex.getMessage(), SpeechRecognizer.ERROR_CLIENT);
+            }
+        }
+
+        private Intent intent(PcmSource source, ParcelFileDescriptor readSide) {
+            Intent intent = new Intent(RecognizerIntent.ACTION_RECOGNIZE_SPEECH);
+            intent.putExtra(RecognizerIntent.EXTRA_LANGUAGE_MODEL, RecognizerIntent.LANGUAGE_MODEL_FREE_FORM);
+            intent.putExtra(RecognizerIntent.EXTRA_LANGUAGE, language);
+            intent.putExtra(RecognizerIntent.EXTRA_CALLING_PACKAGE, context.getPackageName());
+            intent.putExtra(RecognizerIntent.EXTRA_AUDIO_SOURCE, readSide);
+            intent.putExtra(RecognizerIntent.EXTRA_AUDIO_SOURCE_CHANNEL_COUNT, source.channels);
+            intent.putExtra(RecognizerIntent.EXTRA_AUDIO_SOURCE_ENCODING, AudioFormat.ENCODING_PCM_16BIT);
+            intent.putExtra(RecognizerIntent.EXTRA_AUDIO_SOURCE_SAMPLING_RATE, source.sampleRate);
+            intent.putExtra(RecognizerIntent.EXTRA_SEGMENTED_SESSION, RecognizerIntent.EXTRA_AUDIO_SOURCE);
+            return intent;
+        }
+
+        /**
+         * Writes blocks while the recognizer is behind, closing the pipe ends the session.
+         */
+        private void stream(File file, PcmSource source, ParcelFileDescriptor writeSide) {
+            byte[] buffer = new byte[CHUNK_BYTES];
+            try (
+                InputStream in = new FileInputStream(file);
+                OutputStream out = new ParcelFileDescriptor.AutoCloseOutputStream(writeSide)
+            ) {
+                long skipped = 0;
+                while (skipped < source.dataOffset) {
+                    long n = in.skip(source.dataOffset - skipped);
+                    if (n <= 0) {
+                        throw new IOException("Unexpected end of file");
+                    }
+                    skipped += n;
+                }
+                long remaining = source.dataBytes;
+                while (remaining > 0) {
+                    int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                    if (read < 0) {
+                        break;
+                    }
+                    out.write(buffer, 0, read);
+                    remaining -= read;
+                }
+            } catch (IOException ex) {
+                // The recognizer stopped reading, it reports the reason itself
+                Logger.debug(TAG, "Stopped streaming " + path + ": " + ex.getMessage());
+            }
+        }
+
+        private void append(Bundle results) {
+            ArrayList<String> matches = results.getStringArrayList(SpeechRecognizer.RESULTS_RECOGNITION);
+            if (matches == null || matches.isEmpty() || matches.get(0).isEmpty()) {
+                return;
+            }
+            if (text.length() > 0) {
+                text.append(' ');
+            }
+            text.append(matches.get(0));
+        }
+
+        private void complete(String error, int errorCode) {
+            if (done) {
+                return;
+            }
+            done = true;
+            if (recognizer != null) {
+                recognizer.destroy();
+                recognizer = null;
+            }
+            closeReadSide();
+            finish(this, error, errorCode);
+        }
+
+        /**
+         * Called on the handler thread when the queue is destroyed, no progress is reported.
+         */
+        void abandon() {
+            abandoned = true;
+            done = true;
+            if (recognizer != null) {
+                recognizer.cancel();
+                recognizer.destroy();
+                recognizer = null;
+            }
+            closeReadSide();
+        }
+
+        private void closeReadSide() {
+            if (readSide != null) {
+                try {
+                    readSide.close();
+                } catch (IOException ignored) {}
+                readSide = null;
+            }
+        }
+
+        private void fail(String error, int errorCode) {
+            Logger.error(TAG, "Could not transcribe " + path + ": " + error, null);
+            complete(error, errorCode);
+        }
+
+        @Override
+        public void onSegmentResults(Bundle segmentResults) {
+            append(segmentResults);
+        }
+
+        @Override
+        public void onEndOfSegmentedSession() {
+            complete(null, 0);
+        }
+
+        @Override
+        public void onResults(Bundle results) {
+            // Services without segmented sessions deliver a single result
+            append(results);
+            complete(null, 0);
+        }
+
+        @Override
+        public void onError(int error) {
+            if (error == SpeechRecognizer.ERROR_NO_MATCH || error == SpeechRecognizer.ERROR_SPEECH_TIMEOUT) {
+                complete(null, 0);
+            } else {
+                fail("Recognition error " + error, error);
+            }
+        }
+
+        @Override
+        public void onReadyForSpeech(Bundle params) {}
+
+        @Override
+        public void onBeginningOfSpeech() {}
+
+        @Override
+        public void onRmsChanged(float rmsdB) {}
+
+        @Override
+        public void onBufferReceived(byte[] buffer) {}
+
+        @Override
+        public void onEndOfSpeech() {}
+
+        @Override
+        public void onPartialResults(Bundle partialResults) {}
+
+        @Override
+        public void onEvent(int eventType, Bundle params) {}
+    }
+}
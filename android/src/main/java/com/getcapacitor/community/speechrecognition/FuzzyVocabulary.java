@@ -0,0 +1,359 @@
+package com.getcapacitor.community.speechrecognition;
+
+import com.getcapacitor.JSArray;
+import com.getcapacitor.JSObject;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Finds the vocabulary entries closest to a recognition result.
+ *
+ * Entries are normalized (lower case, no punctuation, English number words as
+ * digits) and indexed by character trigrams once. A query only looks at
+ * entries sharing trigrams with it, verifies the best candidates with a
+ * bounded edit distance and stops when its time budget is spent.
+ *
+ * Building can happen on any thread; matching reuses buffers and must stay on
+ * one thread.
+ */
+public class FuzzyVocabulary {
+
+    static final int DEFAULT_TOP_K = 3;
+    static final long DEFAULT_BUDGET_MS = 10;
+    static final int MAX_CANDIDATES = 256;
+
+    private static final String[] UNITS = {
+        "zero",
+        "one",
+        "two",
+        "three",
+        "four",
+        "five",
+        "six",
+        "seven",
+        "eight",
+        "nine",
+        "ten",
+        "eleven",
+        "twelve",
+        "thirteen",
+        "fourteen",
+        "fifteen",
+        "sixteen",
+        "seventeen",
+        "eighteen",
+        "nineteen"
+    };
+    private static final String[] TENS = { "", "", "twenty", "thirty", "forty", "fifty", "sixty", "seventy", "eighty", "ninety" };
+    private static final Map<String, Integer> NUMBERS = new HashMap<>();
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    static {
+        for (int i = 0; i < UNITS.length; i++) {
+            NUMBERS.put(UNITS[i], i);
+        }
+        for (int i = 2; i < TENS.length; i++) {
+            NUMBERS.put(TENS[i], i * 10);
+        }
+    }
+
+    private final String[] entries;
+    private final String[] keys;
+    private final HashMap<Long, int[]> index;
+    private final int topK;
+    private final int maxDistance;
+    private final long budgetNanos;
+
+    private final int[] counts;
+    private final int[] touched;
+
+    private FuzzyVocabulary(String[] entries, String[] keys, HashMap<Long, int[]> index, int topK, int maxDistance, long budgetMs) {
+        this.entries = entries;
+        this.keys = keys;
+        this.index = index;
+        this.topK = topK;
+        this.maxDistance = maxDistance;
+        this.budgetNanos = budgetMs * 1000000;
+        this.counts = new int[entries.length];
+        this.touched = new int[entries.length];
+    }
+
+    /**
+     * Builds the index. A negative maxDistance allows a third of the longer string's length.
+     */
+    public static FuzzyVocabulary build(List<String> entries, int topK, int maxDistance, long budgetMs) {
+        String[] values = entries.toArray(new String[0]);
+        String[] keys = new String[values.length];
+        // Growable posting lists, the first slot holds the size
+        HashMap<Long, int[]> index = new HashMap<>();
+        for (int i = 0; i < values.length; i++) {
+            keys[i] = normalize(values[i]);
+            long[] grams = trigrams(keys[i]);
+            for (int g = 0; g < grams.length; g++) {
+                if (isRepeated(grams, g)) {
+                    continue;
+                }
+                int[] list = index.get(grams[g]);
+                if (list == null) {
+                    list = new int[4];
+                    index.put(grams[g], list);
+                } else if (list[0] + 1 == list.length) {
+                    list = Arrays.copyOf(list, list.length * 2);
+                    index.put(grams[g], list);
+                }
+                list[++list[0]] = i;
+            }
+        }
+        for (Map.Entry<Long, int[]> posting : index.entrySet()) {
+            int[] list = posting.getValue();
+            posting.setValue(Arrays.copyOfRange(list, 1, list[0] + 1));
+        }
+        return new FuzzyVocabulary(values, keys, index, Math.max(1, topK), maxDistance, Math.max(1, budgetMs));
+    }
+
+    public int size() {
+        return entries.length;
+    }
+
+    /**
+     * Best entries over all alternatives, at most topK, best first.
+     */
+    public JSArray match(List<String> alternatives) {
+        long deadline = System.nanoTime() + budgetNanos;
+        int[] bestIds = new int[topK];
+        int[] bestDistances = new int[topK];
+        double[] bestScores = new double[topK];
+        int found = 0;
+
+        for (String alternative : alternatives) {
+            String query = normalize(alternative);
+            if (query.isEmpty()) {
+                continue;
+            }
+            long[] grams = trigrams(query);
+            int candidates = collect(grams);
+            int limit = maxDistance >= 0 ? maxDistance : Math.max(1, query.length() / 3);
+
+            for (int c = 0; c < candidates; c++) {
+                if ((c & 15) == 0 && System.nanoTime() > deadline) {
+                    break;
+                }
+                int id = touched[c];
+                String key = keys[id];
+                int allowed = maxDistance >= 0 ? limit : Math.max(1, Math.max(query.length(), key.length()) / 3);
+                // q-gram lemma: an edit destroys at most three trigrams
+                int required = Math.max(grams.length, key.length() + 2) - 3 * allowed;
+                if (counts[id] < required || Math.abs(key.length() - query.length()) > allowed) {
+                    continue;
+                }
+                int distance = distance(query, key, allowed);
+                if (distance > allowed) {
+                    continue;
+                }
+                double score = 1 - (double) distance / Math.max(query.length(), key.length());
+                found = insert(bestIds, bestDistances, bestScores, found, id, distance, score);
+            }
+            clear(candidates);
+        }
+
+        JSArray ret = new JSArray();
+        for (int i = 0; i < found; i++) {
+            JSObject match = new JSObject();
+            match.put("entry", entries[bestIds[i]]);
+            match.put("index", bestIds[i]);
+            match.put("score", bestScores[i]);
+            match.put("distance", bestDistances[i]);
+            ret.put(match);
+        }
+        return ret;
+    }
+
+    /**
+     * Counts shared trigrams per entry and orders the touched entries by that count, most first,
+     * keeping at most MAX_CANDIDATES. Returns how many are in {@link #touched}.
+     */
+    private int collect(long[] grams) {
+        int n = 0;
+        for (int g = 0; g < grams.length; g++) {
+            if (isRepeated(grams, g)) {
+                continue;
+            }
+            int[] ids = index.get(grams[g]);
+            if (ids == null) {
+                continue;
+            }
+            for (int id : ids) {
+                if (counts[id]++ == 0) {
+                    touched[n++] = id;
+                }
+            }
+        }
+
+        // Counting sort by shared trigrams, descending
+        int[] histogram = new int[grams.length + 2];
+        for (int i = 0; i < n; i++) {
+            histogram[counts[touched[i]]]++;
+        }
+        int kept = 0;
+        int threshold = histogram.length - 1;
+        while (threshold > 0 && kept + histogram[threshold] <= MAX_CANDIDATES) {
+            kept += histogram[threshold];
+            threshold--;
+        }
+        if (kept == 0 && threshold > 0) {
+            kept = Math.min(MAX_CANDIDATES, histogram[threshold]);
+            threshold--;
+        }
+
+        int[] starts = new int[histogram.length];
+        int offset = 0;
+        for (int c = histogram.length - 1; c > threshold; c--) {
+            starts[c] = offset;
+            offset += histogram[c];
+        }
+        int[] ordered = new int[kept];
+        for (int i = 0; i < n; i++) {
+            int id = touched[i];
+            int count = counts[id];
+            if (count > threshold && starts[count] < kept) {
+                ordered[starts[count]++] = id;
+            } else {
+                counts[id] = 0;
+            }
+        }
+        System.arraycopy(ordered, 0, touched, 0, kept);
+        return kept;
+    }
+
+    private void clear(int candidates) {
+        for (int i = 0; i < candidates; i++) {
+            counts[touched[i]] = 0;
+        }
+    }
+
+    /**
+     * Keeps the best entries sorted by score, an entry found through several alternatives keeps its best score.
+     */
+    private int insert(int[] ids, int[] distances, double[] scores, int found, int id, int distance, double score) {
+        for (int i = 0; i < found; i++) {
+            if (ids[i] == id) {
+                if (scores[i] >= score) {
+                    return found;
+                }
+                System.arraycopy(ids, i + 1, ids, i, found - i - 1);
+                System.arraycopy(distances, i + 1, distances, i, found - i - 1);
+                System.arraycopy(scores, i + 1, scores, i, found - i - 1);
+                found--;
+                break;
+            }
+        }
+        if (found == ids.length && scores[found - 1] >= score) {
+            return found;
+        }
+        int i = Math.min(found, ids.length - 1);
+        while (i > 0 && scores[i - 1] < score) {
+            ids[i] = ids[i - 1];
+            distances[i] = distances[i - 1];
+            scores[i] = scores[i - 1];
+            i--;
+        }
+        ids[i] = id;
+        distances[i] = distance;
+        scores[i] = score;
+        return Math.min(found + 1, ids.length);
+    }
+
+    static String normalize(String text) {
+        String[] words = SEPARATORS.matcher(text.toLowerCase(Locale.ROOT)).replaceAll(" ").trim().split(" ");
+        StringBuilder ret = new StringBuilder(text.length());
+        for (int i = 0; i < words.length; i++) {
+            String word = words[i];
+            Integer number = NUMBERS.get(word);
+            if (number != null && number >= 20 && number % 10 == 0 && i + 1 < words.length) {
+                // "twenty one" is 21
+                Integer unit = NUMBERS.get(words[i + 1]);
+                if (unit != null && unit > 0 && unit < 10) {
+                    number += unit;
+                    i++;
+                }
+            }
+            if (ret.length() > 0) {
+                ret.append(' ');
+            }
+            ret.append(number != null ? number.toString() : word);
+        }
+        return ret.toString();
+    }
+
+    /**
+     * Trigrams of the key padded with two boundary characters on each side, packed into longs.
+     */
+    static long[] trigrams(String key) {
+        int length = key.length() + 2;
+        long[] grams = new long[length];
+        for (int i = 0; i < length; i++) {
+            long gram = 0;
+            for (int j = i - 2; j <= i; j++) {
+                char c = j >= 0 && j < key.length() ? key.charAt(j) : '\u0001';
+                gram = (gram << 16) | c;
+            }
+            grams[i] = gram;
+        }
+        return grams;
+    }
+
+    private static boolean isRepeated(long[] grams, int g) {
+        for (int i = 0; i < g; i++) {
+            if (grams[i] == grams[g]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Levenshtein distance limited to a band of width 2 * max + 1, returns max + 1 when over the limit.
+     */
+    static int distance(String a, String b, int max) {
+        int n = a.length();
+        int m = b.length();
+        if (Math.abs(n - m) > max) {
+            return max + 1;
+        }
+        int[] previous = new int[m + 1];
+        int[] current = new int[m + 1];
+        int big = max + 1;
+        for (int j = 0; j <= m; j++) {
+            previous[j] = j <= max ? j : big;
+        }
+        for (int i = 1; i <= n; i++) {
+            int from = Math.max(1, i - max);
+            int to = Math.min(m, i + max);
+            current[0] = i <= max ? i : big;
+            if (from > 1) {
+                current[from - 1] = big;
+            }
+            int rowMin = current[0];
+            for (int j = from; j <= to; j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                current[j] = Math.min(value, big);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (to < m) {
+                current[to + 1] = big;
+            }
+            if (rowMin > max) {
+                return big;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[m], big);
+    }
+}
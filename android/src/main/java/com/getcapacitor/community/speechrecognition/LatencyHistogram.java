@@ -0,0 +1,99 @@
+package com.getcapacitor.community.speechrecognition;
+
+import com.getcapacitor.JSObject;
+import java.util.Arrays;
+
+/**
+ * Fixed-memory latency histogram with log-linear buckets.
+ *
+ * Values are counted in units of 0.1 ms. The first 16 units have their own
+ * bucket, above that every power of two is split into 16 buckets, which keeps
+ * percentiles within about 6% up to 100 s. Longer values land in the last bucket.
+ */
+public class LatencyHistogram {
+
+    static final long UNIT_NANOS = 100000;
+    static final int SUB_BUCKET_BITS = 4;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    static final int MAX_EXPONENT = 19;
+    static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKETS];
+    private long count = 0;
+    private long sumUnits = 0;
+    private long min = Long.MAX_VALUE;
+    private long max = 0;
+
+    public synchronized void record(long nanos) {
+        long units = Math.max(0, nanos / UNIT_NANOS);
+        counts[index(units)]++;
+        count++;
+        sumUnits += units;
+        min = Math.min(min, units);
+        max = Math.max(max, units);
+    }
+
+    public synchronized void reset() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        sumUnits = 0;
+        min = Long.MAX_VALUE;
+        max = 0;
+    }
+
+    /**
+     * Count, min, max, mean and p50/p95/p99 in milliseconds.
+     */
+    public synchronized JSObject snapshot() {
+        JSObject ret = new JSObject();
+        ret.put("count", count);
+        if (count == 0) {
+            return ret;
+        }
+        ret.put("minMs", min / 10.0);
+        ret.put("maxMs", max / 10.0);
+        ret.put("meanMs", sumUnits / 10.0 / count);
+        ret.put("p50Ms", percentile(0.50));
+        ret.put("p95Ms", percentile(0.95));
+        ret.put("p99Ms", percentile(0.99));
+        return ret;
+    }
+
+    static int index(long units) {
+        if (units < SUB_BUCKETS) {
+            return (int) units;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(units);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+        int sub = (int) (units >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * Middle of the bucket, in units.
+     */
+    static double value(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int sub = index % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        return (SUB_BUCKETS + sub) * width + width / 2.0;
+    }
+
+    private double percentile(double p) {
+        long target = (long) Math.ceil(p * count);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                // The exact extremes are known, don't report past them
+                return Math.max(min, Math.min(max, value(i))) / 10.0;
+            }
+        }
+        return max / 10.0;
+    }
+}
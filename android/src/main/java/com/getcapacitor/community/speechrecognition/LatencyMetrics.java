@@ -0,0 +1,120 @@
+package com.getcapacitor.community.speechrecognition;
+
+import android.os.SystemClock;
+import com.getcapacitor.JSObject;
+
+/**
+ * Timestamps of the stages of each recognizer session, fed into latency histograms.
+ *
+ * The start() stages are only measured for the first session after start();
+ * the others for every session, including continuous-mode restarts. Stage
+ * callbacks come from the main thread, start() from the plugin thread.
+ */
+public class LatencyMetrics {
+
+    private final LatencyHistogram startToCreated = new LatencyHistogram();
+    private final LatencyHistogram startToReady = new LatencyHistogram();
+    private final LatencyHistogram startToFirstPartial = new LatencyHistogram();
+    private final LatencyHistogram sessionToReady = new LatencyHistogram();
+    private final LatencyHistogram readyToSpeech = new LatencyHistogram();
+    private final LatencyHistogram speechToFirstPartial = new LatencyHistogram();
+    private final LatencyHistogram endOfSpeechToResults = new LatencyHistogram();
+    private final LatencyHistogram sessionToResults = new LatencyHistogram();
+
+    private volatile long startCall = 0;
+    private long session = 0;
+    private long ready = 0;
+    private long speech = 0;
+    private long firstPartial = 0;
+    private long endOfSpeech = 0;
+
+    public void onStartCall() {
+        startCall = SystemClock.elapsedRealtimeNanos();
+    }
+
+    public void onRecognizerCreated() {
+        record(startToCreated, startCall);
+    }
+
+    public void onSessionStarted() {
+        session = SystemClock.elapsedRealtimeNanos();
+        ready = 0;
+        speech = 0;
+        firstPartial = 0;
+        endOfSpeech = 0;
+    }
+
+    public void onReady() {
+        ready = now();
+        record(startToReady, startCall);
+        record(sessionToReady, session);
+    }
+
+    public void onBeginningOfSpeech() {
+        if (speech == 0) {
+            speech = now();
+            record(readyToSpeech, ready);
+        }
+    }
+
+    public void onPartial() {
+        if (firstPartial != 0) {
+            return;
+        }
+        firstPartial = now();
+        record(startToFirstPartial, startCall);
+        record(speechToFirstPartial, speech);
+    }
+
+    public void onEndOfSpeech() {
+        endOfSpeech = now();
+    }
+
+    public void onResults() {
+        record(endOfSpeechToResults, endOfSpeech);
+        record(sessionToResults, session);
+        onSessionEnded();
+    }
+
+    /**
+     * The next session is a restart, the start() stages no longer apply.
+     */
+    public void onSessionEnded() {
+        startCall = 0;
+        session = 0;
+    }
+
+    public JSObject snapshot() {
+        JSObject ret = new JSObject();
+        ret.put("startToRecognizerCreated", startToCreated.snapshot());
+        ret.put("startToReady", startToReady.snapshot());
+        ret.put("startToFirstPartial", startToFirstPartial.snapshot());
+        ret.put("sessionToReady", sessionToReady.snapshot());
+        ret.put("readyToSpeech", readyToSpeech.snapshot());
+        ret.put("speechToFirstPartial", speechToFirstPartial.snapshot());
+        ret.put("endOfSpeechToResults", endOfSpeechToResults.snapshot());
+        ret.put("sessionToResults", sessionToResults.snapshot());
+        return ret;
+    }
+
+    public void reset() {
+        startToCreated.reset();
+        startToReady.reset();
+        startToFirstPartial.reset();
+        sessionToReady.reset();
+        readyToSpeech.reset();
+        speechToFirstPartial.reset();
+        endOfSpeechToResults.reset();
+        sessionToResults.reset();
+    }
+
+    private static long now() {
+        return SystemClock.elapsedRealtimeNanos();
+    }
+
+    private static void record(LatencyHistogram histogram, long since) {
+        if (since != 0) {
+            histogram.record(SystemClock.elapsedRealtimeNanos() - since);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.getcapacitor.community.speechrecognition;
+
+import com.getcapacitor.JSArray;
+import com.getcapacitor.JSObject;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Encodes partial results as changes against the previously emitted partial.
+ *
+ * Every alternative that changed is sent as the length of the prefix it shares
+ * with the previous value at the same index plus the new suffix. JS rebuilds it
+ * with {@code previous.substring(0, offset) + text}. Each emitted delta carries
+ * a sequence number, so a listener that missed one can resync from the snapshot.
+ */
+public class PartialResultsDeltaEncoder {
+
+    private final ArrayList<String> snapshot = new ArrayList<>();
+    private long sequence = 0;
+
+    /**
+     * Returns the delta against the previous partial, or null if nothing changed.
+     */
+    public synchronized JSObject encode(List<String> matches) {
+        JSArray changes = new JSArray();
+        for (int index = 0; index < matches.size(); index++) {
+            String text = matches.get(index);
+            String previous = index < snapshot.size() ? snapshot.get(index) : "";
+            if (index < snapshot.size() && previous.equals(text)) {
+                continue;
+            }
+
+            int offset = commonPrefixLength(previous, text);
+            JSObject change = new JSObject();
+            change.put("index", index);
+            change.put("offset", offset);
+            change.put("text", text.substring(offset));
+            changes.put(change);
+        }
+
+        if (changes.length() == 0 && matches.size() == snapshot.size()) {
+            return null;
+        }
+
+        snapshot.clear();
+        snapshot.addAll(matches);
+        sequence++;
+
+        JSObject ret = new JSObject();
+        ret.put("seq", sequence);
+        ret.put("count", matches.size());
+        ret.put("changes", changes);
+        return ret;
+    }
+
+    /**
+     * The full partial result matching the last emitted sequence number.
+     */
+    public synchronized JSObject snapshot() {
+        JSObject ret = new JSObject();
+        ret.put("seq", sequence);
+        ret.put("matches", new JSArray(snapshot));
+        return ret;
+    }
+
+    /**
+     * Clears the partial result at the start of a session. The sequence keeps increasing.
+     */
+    public synchronized void reset() {
+        snapshot.clear();
+    }
+
+    private static int commonPrefixLength(String previous, String text) {
+        int max = Math.min(previous.length(), text.length());
+        int offset = 0;
+        while (offset < max && previous.charAt(offset) == text.charAt(offset)) {
+            offset++;
+        }
+        // Never split a surrogate pair, the suffix must stay valid UTF-16 on its own
+        if (offset > 0 && offset < text.length() && Character.isHighSurrogate(text.charAt(offset - 1))) {
+            offset--;
+        }
+        return offset;
+    }
+}
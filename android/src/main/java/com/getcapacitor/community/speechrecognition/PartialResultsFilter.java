@@ -0,0 +1,56 @@
+package com.getcapacitor.community.speechrecognition;
+
+import com.getcapacitor.JSObject;
+import java.util.List;
+
+/**
+ * Drops partial results identical to the previous one before any JSON is built.
+ *
+ * The comparison walks the raw string lists by index, so a suppressed callback
+ * allocates nothing and never reaches the bridge. Called on the main thread.
+ */
+public class PartialResultsFilter {
+
+    private List<String> previous;
+    private long received = 0;
+    private long suppressed = 0;
+
+    /**
+     * Returns true if the matches differ from the previous partial result and should be emitted.
+     */
+    public boolean accept(List<String> matches) {
+        received++;
+        if (matches == null || matches.isEmpty() || sameAsPrevious(matches)) {
+            suppressed++;
+            return false;
+        }
+        // The list comes from the result bundle and is never modified, keeping the reference is enough
+        previous = matches;
+        return true;
+    }
+
+    public void reset() {
+        previous = null;
+    }
+
+    public JSObject getMetrics() {
+        JSObject ret = new JSObject();
+        ret.put("received", received);
+        ret.put("suppressed", suppressed);
+        return ret;
+    }
+
+    private boolean sameAsPrevious(List<String> matches) {
+        if (previous == null || previous.size() != matches.size()) {
+            return false;
+        }
+        for (int i = 0; i < matches.size(); i++) {
+            String a = matches.get(i);
+            String b = previous.get(i);
+            if (a == null ? b != null : !a.equals(b)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
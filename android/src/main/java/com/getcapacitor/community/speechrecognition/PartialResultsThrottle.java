@@ -0,0 +1,85 @@
+package com.getcapacitor.community.speechrecognition;
+
+import android.os.Handler;
+import android.os.SystemClock;
+import java.util.List;
+
+/**
+ * Limits how often partial results cross the bridge.
+ *
+ * A partial arriving within the interval after the last emitted one is held
+ * back; newer partials replace it and only the latest is emitted when the
+ * interval has elapsed. Called on the main thread.
+ */
+public class PartialResultsThrottle {
+
+    public interface Sink {
+        void emit(List<String> matches);
+    }
+
+    private final Handler handler;
+    private final Runnable flushTask = this::flush;
+
+    private long intervalMs = 0;
+    private long lastEmitAt = 0;
+    private List<String> pending;
+    private Sink pendingSink;
+    private long coalesced = 0;
+
+    public PartialResultsThrottle(Handler handler) {
+        this.handler = handler;
+    }
+
+    /**
+     * Minimum time between two emitted partials, 0 emits every partial right away.
+     */
+    public void setIntervalMs(long intervalMs) {
+        this.intervalMs = Math.max(0, intervalMs);
+    }
+
+    public void submit(List<String> matches, Sink sink) {
+        long now = SystemClock.uptimeMillis();
+        if (pending == null && (intervalMs == 0 || now - lastEmitAt >= intervalMs)) {
+            lastEmitAt = now;
+            sink.emit(matches);
+            return;
+        }
+
+        if (pending != null) {
+            coalesced++;
+        } else {
+            handler.postAtTime(flushTask, lastEmitAt + intervalMs);
+        }
+        pending = matches;
+        pendingSink = sink;
+    }
+
+    /**
+     * Drops the held back partial, used when a final result supersedes it or the session stops.
+     */
+    public void discardPending() {
+        if (pending == null) {
+            return;
+        }
+        handler.removeCallbacks(flushTask);
+        pending = null;
+        pendingSink = null;
+        coalesced++;
+    }
+
+    public long getCoalesced() {
+        return coalesced;
+    }
+
+    private void flush() {
+        if (pending == null) {
+            return;
+        }
+        List<String> matches = pending;
+        Sink sink = pendingSink;
+        pending = null;
+        pendingSink = null;
+        lastEmitAt = SystemClock.uptimeMillis();
+        sink.emit(matches);
+    }
+}
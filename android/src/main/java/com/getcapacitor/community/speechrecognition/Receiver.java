@@ -5,22 +5,26 @@ import android.content.Context;
 import android.content.Intent;
 import android.os.Bundle;
 import android.speech.RecognizerIntent;
-import com.getcapacitor.JSArray;
-import com.getcapacitor.JSObject;
-import com.getcapacitor.PluginCall;
 import java.util.List;
 
 public class Receiver extends BroadcastReceiver implements Constants {
 
     public static final String TAG = "Receiver";
 
+    public interface Listener {
+        /**
+         * Called with the supported languages, or null if the recognition service did not report them.
+         */
+        void onLanguageDetails(List<String> supportedLanguages, String languagePreference);
+    }
+
     private List<String> supportedLanguagesList;
     private String languagePref;
-    private PluginCall call;
+    private final Listener listener;
 
-    public Receiver(PluginCall call) {
+    public Receiver(Listener listener) {
         super();
-        this.call = call;
+        this.listener = listener;
     }
 
     @Override
@@ -33,20 +37,8 @@ public class Receiver extends BroadcastReceiver implements Constants {
 
         if (extras.containsKey(RecognizerIntent.EXTRA_SUPPORTED_LANGUAGES)) {
             supportedLanguagesList = extras.getStringArrayList(RecognizerIntent.EXTRA_SUPPORTED_LANGUAGES);
-
-            JSArray languagesList = new JSArray(supportedLanguagesList);
-            call.resolve(new JSObject().put("languages", languagesList));
-            return;
         }
 
-        call.reject(ERROR);
-    }
-
-    public List<String> getSupportedLanguages() {
-        return supportedLanguagesList;
-    }
-
-    public String getLanguagePreference() {
-        return languagePref;
+        listener.onLanguageDetails(supportedLanguagesList, languagePref);
     }
 }
@@ -0,0 +1,98 @@
+package com.getcapacitor.community.speechrecognition;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.net.Uri;
+import android.speech.RecognitionService;
+import android.speech.SpeechRecognizer;
+import androidx.core.content.ContextCompat;
+import com.getcapacitor.Logger;
+
+/**
+ * Caches whether speech recognition is available, so neither start() nor
+ * available() query the PackageManager.
+ *
+ * The cache is dropped when any package is removed or changed, since a removed
+ * or disabled package can no longer be queried for its services, and when an
+ * added package provides a recognition service.
+ */
+public class RecognitionAvailability {
+
+    public static final String TAG = "RecognitionAvailability";
+
+    public interface Listener {
+        /**
+         * Called on the main thread for every added, removed or changed package.
+         */
+        void onPackageChanged(String packageName);
+    }
+
+    private final Context context;
+    private final Listener listener;
+    private final BroadcastReceiver packageReceiver = new BroadcastReceiver() {
+        @Override
+        public void onReceive(Context context, Intent intent) {
+            Uri data = intent.getData();
+            String packageName = data != null ? data.getSchemeSpecificPart() : null;
+            if (packageName == null) {
+                return;
+            }
+            if (!Intent.ACTION_PACKAGE_ADDED.equals(intent.getAction()) || providesRecognition(packageName)) {
+                Logger.debug(TAG, "Dropping cached availability after package change: " + packageName);
+                invalidate();
+            }
+            listener.onPackageChanged(packageName);
+        }
+    };
+
+    private Boolean available;
+    private boolean registered = false;
+
+    public RecognitionAvailability(Context context, Listener listener) {
+        this.context = context;
+        this.listener = listener;
+    }
+
+    public synchronized void register() {
+        if (registered) {
+            return;
+        }
+        IntentFilter filter = new IntentFilter();
+        filter.addAction(Intent.ACTION_PACKAGE_ADDED);
+        filter.addAction(Intent.ACTION_PACKAGE_REMOVED);
+        filter.addAction(Intent.ACTION_PACKAGE_CHANGED);
+        filter.addDataScheme("package");
+        ContextCompat.registerReceiver(context, packageReceiver, filter, ContextCompat.RECEIVER_NOT_EXPORTED);
+        registered = true;
+    }
+
+    public synchronized void unregister() {
+        if (!registered) {
+            return;
+        }
+        context.unregisterReceiver(packageReceiver);
+        registered = false;
+    }
+
+    public synchronized boolean isAvailable() {
+        if (available == null) {
+            available = SpeechRecognizer.isRecognitionAvailable(context);
+        }
+        return available;
+    }
+
+    public synchronized void invalidate() {
+        available = null;
+    }
+
+    private synchronized boolean providesRecognition(String packageName) {
+        // The first recognition service may have just been installed
+        if (available == null || !available) {
+            return true;
+        }
+        Intent intent = new Intent(RecognitionService.SERVICE_INTERFACE).setPackage(packageName);
+        return !context.getPackageManager().queryIntentServices(intent, 0).isEmpty();
+    }
+}
@@ -0,0 +1,177 @@
+package com.getcapacitor.community.speechrecognition;
+
+import android.content.Context;
+import android.os.Build;
+import android.os.Handler;
+import android.speech.RecognitionSupport;
+import android.speech.RecognitionSupportCallback;
+import android.speech.SpeechRecognizer;
+import com.getcapacitor.Logger;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Decides whether a session runs on the on-device recognizer or the network one.
+ *
+ * In auto mode on-device recognition is used when the language is installed on
+ * the device (checked on API 33+, assumed on API 31 and 32), and a session that
+ * fails for engine related reasons falls back to the other engine once.
+ *
+ * All methods must be called on the main thread.
+ */
+public class RecognitionEngine {
+
+    public static final String TAG = "RecognitionEngine";
+
+    public static final String ON_DEVICE = "onDevice";
+    public static final String NETWORK = "network";
+    public static final String AUTO = "auto";
+
+    static final long SUPPORT_CHECK_TIMEOUT_MS = 1000;
+
+    public interface Callback {
+        void onSelected(boolean onDevice);
+    }
+
+    private final Context context;
+    private final Handler handler;
+    private final Map<String, Boolean> onDeviceLanguages = new HashMap<>();
+
+    public RecognitionEngine(Context context, Handler handler) {
+        this.context = context;
+        this.handler = handler;
+    }
+
+    public static boolean isValid(String engine) {
+        return ON_DEVICE.equals(engine) || NETWORK.equals(engine) || AUTO.equals(engine);
+    }
+
+    /**
+     * Whether the dedicated on-device recognition service can be used.
+     * Older versions run on-device sessions on the default service with EXTRA_PREFER_OFFLINE.
+     */
+    public static boolean hasOnDeviceService(Context context) {
+        return Build.VERSION.SDK_INT >= Build.VERSION_CODES.S && SpeechRecognizer.isOnDeviceRecognitionAvailable(context);
+    }
+
+    /**
+     * Calls back with the engine for the first session of the profile, right away unless
+     * the language support has to be checked first.
+     */
+    public void select(RecognitionProfile profile, Callback callback) {
+        if (!AUTO.equals(profile.engine)) {
+            callback.onSelected(ON_DEVICE.equals(profile.engine));
+            return;
+        }
+        if (!hasOnDeviceService(context)) {
+            callback.onSelected(false);
+            return;
+        }
+
+        Boolean supported = onDeviceLanguages.get(profile.language);
+        if (supported != null) {
+            callback.onSelected(supported);
+        } else if (Build.VERSION.SDK_INT < Build.VERSION_CODES.TIRAMISU) {
+            // Support can't be checked, an unsupported language falls back on its first error
+            callback.onSelected(true);
+        } else {
+            new SupportCheck(profile, callback).start();
+        }
+    }
+
+    /**
+     * Returns true if a session that failed with the given error should be retried on the other engine.
+     */
+    public boolean shouldFallBack(RecognitionProfile profile, boolean onDevice, int error) {
+        if (!AUTO.equals(profile.engine)) {
+            return false;
+        }
+        if (onDevice) {
+            if (error == SpeechRecognizer.ERROR_LANGUAGE_NOT_SUPPORTED || error == SpeechRecognizer.ERROR_LANGUAGE_UNAVAILABLE) {
+                onDeviceLanguages.put(profile.language, false);
+                return true;
+            }
+            return error == SpeechRecognizer.ERROR_SERVER_DISCONNECTED || error == SpeechRecognizer.ERROR_CLIENT;
+        }
+        return (
+            error == SpeechRecognizer.ERROR_NETWORK ||
+            error == SpeechRecognizer.ERROR_NETWORK_TIMEOUT ||
+            error == SpeechRecognizer.ERROR_SERVER
+        );
+    }
+
+    private static String normalize(String language) {
+        return language.replace('_', '-').toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Asks the on-device service whether the language is installed, falls back to the
+     * network engine if it does not answer in time.
+     */
+    private class SupportCheck implements RecognitionSupportCallback, Runnable {
+
+        private final RecognitionProfile profile;
+        private final Callback callback;
+        private SpeechRecognizer recognizer;
+        private boolean done = false;
+
+        SupportCheck(RecognitionProfile profile, Callback callback) {
+            this.profile = profile;
+            this.callback = callback;
+        }
+
+        void start() {
+            try {
+                recognizer = SpeechRecognizer.createOnDeviceSpeechRecognizer(context);
+                recognizer.checkRecognitionSupport(profile.intent, handler::post, this);
+                handler.postDelayed(this, SUPPORT_CHECK_TIMEOUT_MS);
+            } catch (Exception ex) {
+                Logger.error(TAG, "Could not check on-device support: " + ex.getMessage(), null);
+                finish(false, false);
+            }
+        }
+
+        @Override
+        public void onSupportResult(RecognitionSupport recognitionSupport) {
+            String language = normalize(profile.language);
+            boolean supported = false;
+            List<String> installed = recognitionSupport.getInstalledOnDeviceLanguages();
+            for (String candidate : installed) {
+                if (normalize(candidate).equals(language)) {
+                    supported = true;
+                    break;
+                }
+            }
+            finish(supported, true);
+        }
+
+        @Override
+        public void onError(int error) {
+            finish(false, false);
+        }
+
+        @Override
+        public void run() {
+            Logger.debug(TAG, "On-device support check timed out");
+            finish(false, false);
+        }
+
+        private void finish(boolean supported, boolean cache) {
+            if (done) {
+                return;
+            }
+            done = true;
+            handler.removeCallbacks(this);
+            if (recognizer != null) {
+                recognizer.destroy();
+                recognizer = null;
+            }
+            if (cache) {
+                onDeviceLanguages.put(profile.language, supported);
+            }
+            callback.onSelected(supported);
+        }
+    }
+}
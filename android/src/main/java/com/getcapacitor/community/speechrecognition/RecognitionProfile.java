@@ -0,0 +1,105 @@
+package com.getcapacitor.community.speechrecognition;
+
+import android.content.Intent;
+import android.speech.RecognizerIntent;
+import com.getcapacitor.JSObject;
+import java.util.Locale;
+
+/**
+ * Start options validated once and frozen together with the recognizer intent.
+ *
+ * The first session and every continuous-mode restart start from the same
+ * intent, which must not be modified; copy it to add per-session extras.
+ */
+public class RecognitionProfile {
+
+    public final String language;
+    public final int maxResults;
+    public final String prompt;
+    public final boolean partialResults;
+    public final boolean popup;
+    public final boolean continuous;
+    public final Integer silenceTimeout;
+    public final boolean gapless;
+    public final boolean partialResultsDelta;
+    public final int partialResultsIntervalMs;
+    public final boolean volumeLevel;
+    public final int volumeLevelRateHz;
+    public final boolean captureAudio;
+    public final boolean voiceActivityGate;
+    public final String engine;
+    public final float minConfidence;
+    public final boolean forwardPartialResults;
+    public final boolean transcript;
+    public final Intent intent;
+    public final Intent onDeviceIntent;
+
+    private RecognitionProfile(JSObject options, String callingPackage) {
+        language = options.getString("language", Locale.getDefault().toString());
+        maxResults = options.getInteger("maxResults", Constants.MAX_RESULTS);
+        prompt = options.getString("prompt", null);
+        partialResults = options.getBoolean("partialResults", false);
+        popup = options.getBoolean("popup", false);
+        continuous = options.getBoolean("continuous", false);
+        silenceTimeout = options.getInteger("silenceTimeout", null);
+        gapless = continuous && options.getBoolean("gapless", false);
+        partialResultsDelta = options.getBoolean("partialResultsDelta", false);
+        partialResultsIntervalMs = options.getInteger("partialResultsIntervalMs", 0);
+        volumeLevel = options.getBoolean("volumeLevel", false);
+        volumeLevelRateHz = options.getInteger("volumeLevelRateHz", VolumeLevelMeter.DEFAULT_RATE_HZ);
+        captureAudio = options.getBoolean("captureAudio", false);
+        voiceActivityGate = continuous && options.getBoolean("voiceActivityGate", false);
+        engine = options.getString("engine", RecognitionEngine.NETWORK);
+        minConfidence = (float) options.optDouble("minConfidence", 0);
+        forwardPartialResults = options.getBoolean("forwardPartialResults", true);
+        transcript = options.getBoolean("transcript", false);
+
+        if (language == null || language.isEmpty()) {
+            throw new IllegalArgumentException("language must not be empty");
+        }
+        if (maxResults < 1) {
+            throw new IllegalArgumentException("maxResults must be at least 1");
+        }
+        if (silenceTimeout != null && silenceTimeout < 0) {
+            throw new IllegalArgumentException("silenceTimeout must not be negative");
+        }
+        if (partialResultsIntervalMs < 0) {
+            throw new IllegalArgumentException("partialResultsIntervalMs must not be negative");
+        }
+        if (volumeLevelRateHz < 1) {
+            throw new IllegalArgumentException("volumeLevelRateHz must be at least 1");
+        }
+        if (!(minConfidence >= 0 && minConfidence <= 1)) {
+            throw new IllegalArgumentException("minConfidence must be between 0 and 1");
+        }
+        if (!RecognitionEngine.isValid(engine)) {
+            throw new IllegalArgumentException("engine must be onDevice, network or auto");
+        }
+
+        intent = new Intent(RecognizerIntent.ACTION_RECOGNIZE_SPEECH);
+        intent.putExtra(RecognizerIntent.EXTRA_LANGUAGE_MODEL, RecognizerIntent.LANGUAGE_MODEL_FREE_FORM);
+        intent.putExtra(RecognizerIntent.EXTRA_LANGUAGE, language);
+        intent.putExtra(RecognizerIntent.EXTRA_MAX_RESULTS, maxResults);
+        intent.putExtra(RecognizerIntent.EXTRA_CALLING_PACKAGE, callingPackage);
+        intent.putExtra(RecognizerIntent.EXTRA_PARTIAL_RESULTS, partialResults);
+        intent.putExtra("android.speech.extra.DICTATION_MODE", partialResults);
+
+        if (prompt != null) {
+            intent.putExtra(RecognizerIntent.EXTRA_PROMPT, prompt);
+        }
+
+        onDeviceIntent = new Intent(intent);
+        onDeviceIntent.putExtra(RecognizerIntent.EXTRA_PREFER_OFFLINE, true);
+    }
+
+    public Intent intentFor(boolean onDevice) {
+        return onDevice ? onDeviceIntent : intent;
+    }
+
+    /**
+     * Parses and validates the options, throws IllegalArgumentException for invalid values.
+     */
+    public static RecognitionProfile from(JSObject options, String callingPackage) {
+        return new RecognitionProfile(options != null ? options : new JSObject(), callingPackage);
+    }
+}
@@ -0,0 +1,245 @@
+package com.getcapacitor.community.speechrecognition;
+
+import android.content.ComponentName;
+import android.content.Context;
+import android.content.Intent;
+import android.os.Build;
+import android.os.Handler;
+import android.os.SystemClock;
+import android.speech.RecognitionSupport;
+import android.speech.RecognitionSupportCallback;
+import android.speech.RecognizerIntent;
+import android.speech.SpeechRecognizer;
+import com.getcapacitor.JSObject;
+import com.getcapacitor.Logger;
+import java.util.Objects;
+
+/**
+ * Keeps one pre-created SpeechRecognizer on standby so that start() and the
+ * continuous-mode restart do not pay for creating and binding a new
+ * recognition service on the critical path.
+ *
+ * All methods must be called on the main thread, like SpeechRecognizer itself.
+ */
+public class RecognizerPool {
+
+    public static final String TAG = "RecognizerPool";
+
+    /**
+     * Creates the recognizers handed out by the pool, replaced in tests by a simulated recognizer.
+     */
+    public interface Factory {
+        SpeechRecognizer create(Context context, ComponentName component, boolean onDevice);
+    }
+
+    public static final Factory DEFAULT_FACTORY = (context, component, onDevice) -> {
+        if (onDevice && RecognitionEngine.hasOnDeviceService(context)) {
+            return SpeechRecognizer.createOnDeviceSpeechRecognizer(context);
+        }
+        if (component != null) {
+            return SpeechRecognizer.createSpeechRecognizer(context, component);
+        }
+        return SpeechRecognizer.createSpeechRecognizer(context);
+    };
+
+    private final Context context;
+    private final Handler handler;
+    private final Factory factory;
+
+    private SpeechRecognizer standby;
+    private ComponentName standbyComponent;
+    private boolean standbyOnDevice = false;
+    private boolean replenishPending = false;
+    private boolean destroyed = false;
+
+    private long warmAcquires = 0;
+    private long coldAcquires = 0;
+    private long coldCreateNanos = 0;
+    private long warmReadyCount = 0;
+    private long warmReadyNanos = 0;
+    private long coldReadyCount = 0;
+    private long coldReadyNanos = 0;
+
+    public RecognizerPool(Context context, Handler handler) {
+        this(context, handler, DEFAULT_FACTORY);
+    }
+
+    public RecognizerPool(Context context, Handler handler, Factory factory) {
+        this.context = context;
+        this.handler = handler;
+        this.factory = factory;
+    }
+
+    /**
+     * Returns a recognizer for the given service component (null for the system default),
+     * or the on-device recognizer where available. The standby instance is handed out when
+     * it was created for the same service, and a new standby is created in the background.
+     */
+    public Acquired acquire(ComponentName component, boolean onDevice) {
+        SpeechRecognizer recognizer = null;
+        boolean warm = false;
+
+        if (isStandbyFor(component, onDevice)) {
+            recognizer = standby;
+            warm = true;
+            standby = null;
+            warmAcquires++;
+        } else {
+            discardStandby();
+            long begin = SystemClock.elapsedRealtimeNanos();
+            recognizer = create(component, onDevice);
+            coldCreateNanos += SystemClock.elapsedRealtimeNanos() - begin;
+            coldAcquires++;
+        }
+
+        scheduleReplenish(component, onDevice);
+        return recognizer == null ? null : new Acquired(recognizer, warm);
+    }
+
+    /**
+     * Cancels a recognizer that is no longer used and destroys it off the current call stack.
+     */
+    public void release(final SpeechRecognizer recognizer) {
+        if (recognizer == null) {
+            return;
+        }
+        try {
+            recognizer.cancel();
+        } catch (Exception ex) {
+            Logger.error(TAG, "Failed to cancel recognizer: " + ex.getMessage(), null);
+        }
+        handler.post(() -> {
+            try {
+                recognizer.destroy();
+            } catch (Exception ex) {
+                Logger.error(TAG, "Failed to destroy recognizer: " + ex.getMessage(), null);
+            }
+        });
+    }
+
+    /**
+     * Creates the standby recognizer if there is none yet.
+     */
+    public void prewarm(ComponentName component, boolean onDevice) {
+        scheduleReplenish(component, onDevice);
+    }
+
+    /**
+     * Records the time between startListening() and onReadyForSpeech() for an acquired recognizer.
+     */
+    public void recordTimeToReady(boolean warm, long nanos) {
+        if (warm) {
+            warmReadyCount++;
+            warmReadyNanos += nanos;
+        } else {
+            coldReadyCount++;
+            coldReadyNanos += nanos;
+        }
+    }
+
+    /**
+     * Discards the standby, no new one is created afterwards.
+     */
+    public void destroy() {
+        destroyed = true;
+        discardStandby();
+    }
+
+    public JSObject getMetrics() {
+        double coldReadyMs = coldReadyCount > 0 ? coldReadyNanos / 1e6 / coldReadyCount : 0;
+        double warmReadyMs = warmReadyCount > 0 ? warmReadyNanos / 1e6 / warmReadyCount : 0;
+        double savedMs = coldReadyCount > 0 && warmReadyCount > 0 ? Math.max(0, coldReadyMs - warmReadyMs) * warmReadyCount : 0;
+
+        JSObject ret = new JSObject();
+        ret.put("warmAcquires", warmAcquires);
+        ret.put("coldAcquires", coldAcquires);
+        ret.put("averageCreateMs", coldAcquires > 0 ? coldCreateNanos / 1e6 / coldAcquires : 0);
+        ret.put("averageColdTimeToReadyMs", coldReadyMs);
+        ret.put("averageWarmTimeToReadyMs", warmReadyMs);
+        ret.put("bindTimeSavedMs", savedMs);
+        ret.put("standbyReady", standby != null);
+        return ret;
+    }
+
+    private boolean isStandbyFor(ComponentName component, boolean onDevice) {
+        return standby != null && standbyOnDevice == onDevice && Objects.equals(standbyComponent, component);
+    }
+
+    private void scheduleReplenish(final ComponentName component, final boolean onDevice) {
+        if (replenishPending || destroyed) {
+            return;
+        }
+        replenishPending = true;
+        handler.post(() -> {
+            replenishPending = false;
+            if (destroyed || isStandbyFor(component, onDevice)) {
+                return;
+            }
+            discardStandby();
+            standby = create(component, onDevice);
+            standbyComponent = component;
+            standbyOnDevice = onDevice;
+            if (standby != null) {
+                bind(standby);
+            }
+        });
+    }
+
+    private SpeechRecognizer create(ComponentName component, boolean onDevice) {
+        try {
+            return factory.create(context, component, onDevice);
+        } catch (Exception ex) {
+            Logger.error(TAG, "Failed to create recognizer: " + ex.getMessage(), null);
+            return null;
+        }
+    }
+
+    /**
+     * SpeechRecognizer connects to the service lazily. On API 33+ a support check
+     * forces the connection so the standby is bound before it is handed out.
+     */
+    private void bind(SpeechRecognizer recognizer) {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.TIRAMISU) {
+            return;
+        }
+        try {
+            Intent intent = new Intent(RecognizerIntent.ACTION_RECOGNIZE_SPEECH);
+            recognizer.checkRecognitionSupport(
+                intent,
+                handler::post,
+                new RecognitionSupportCallback() {
+                    @Override
+                    public void onSupportResult(RecognitionSupport recognitionSupport) {}
+
+                    @Override
+                    public void onError(int error) {}
+                }
+            );
+        } catch (Exception ex) {
+            Logger.debug(TAG, "Could not pre-bind recognizer: " + ex.getMessage());
+        }
+    }
+
+    private void discardStandby() {
+        if (standby != null) {
+            try {
+                standby.destroy();
+            } catch (Exception ex) {
+                Logger.error(TAG, "Failed to destroy standby recognizer: " + ex.getMessage(), null);
+            }
+            standby = null;
+            standbyComponent = null;
+        }
+    }
+
+    public static class Acquired {
+
+        public final SpeechRecognizer recognizer;
+        public final boolean warm;
+
+        Acquired(SpeechRecognizer recognizer, boolean warm) {
+            this.recognizer = recognizer;
+            this.warm = warm;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.getcapacitor.community.speechrecognition;
+
+/**
+ * Decides when the continuous mode restarts the recognizer after a session ends.
+ *
+ * All methods are called on the main thread.
+ */
+public interface RestartScheduler {
+    /**
+     * Returns the delay in milliseconds before restarting after the given error
+     * (or 0 for a final result), or a negative value if the restart should be abandoned.
+     *
+     * @param cause the SpeechRecognizer error code that ended the session, 0 for a result
+     * @param gapless true when the next session is already armed and should start without the base delay
+     */
+    long nextRestartDelayMs(int cause, boolean gapless);
+
+    /**
+     * Called when a started session is ready for speech.
+     */
+    void onReady(long timeToReadyMs);
+
+    /**
+     * Called when speech has been detected in the current session.
+     */
+    void onSpeech();
+
+    /**
+     * Called when a new listening session is started by the user.
+     */
+    void reset();
+}
@@ -0,0 +1,133 @@
+package com.getcapacitor.community.speechrecognition;
+
+import android.speech.SpeechRecognizer;
+import com.getcapacitor.JSObject;
+
+/**
+ * Counts continuous-mode restarts by cause and measures their dead air, the
+ * time from the event that ended a session to the next one being ready.
+ *
+ * Restarts held back by the voice activity gate are counted but not timed,
+ * their gap is silence on purpose. Updates come from the main thread, reads
+ * from the plugin thread.
+ */
+public class RestartTelemetry {
+
+    static final String NO_MATCH = "noMatch";
+    static final String SPEECH_TIMEOUT = "speechTimeout";
+    static final String BUSY = "busy";
+    static final String RESULT = "result";
+    private static final String[] CAUSES = { NO_MATCH, SPEECH_TIMEOUT, BUSY, RESULT };
+
+    private final long[] restarts = new long[CAUSES.length];
+    private final LatencyHistogram deadAir = new LatencyHistogram();
+    private long sessions = 0;
+    private long gated = 0;
+    private long failures = 0;
+    private long totalDeadAirNanos = 0;
+
+    private String pendingCause = null;
+    private long pendingSince = 0;
+
+    public static String causeOf(int error) {
+        switch (error) {
+            case SpeechRecognizer.ERROR_NO_MATCH:
+                return NO_MATCH;
+            case SpeechRecognizer.ERROR_SPEECH_TIMEOUT:
+                return SPEECH_TIMEOUT;
+            case SpeechRecognizer.ERROR_RECOGNIZER_BUSY:
+                return BUSY;
+            default:
+                return null;
+        }
+    }
+
+    public synchronized void onSessionStarted() {
+        sessions++;
+    }
+
+    /**
+     * A restart was decided; since is when the previous session stopped hearing the user.
+     */
+    public synchronized void onRestart(String cause, long sinceNanos) {
+        count(cause);
+        pendingCause = cause;
+        pendingSince = sinceNanos;
+    }
+
+    public synchronized void onGatedRestart(String cause) {
+        count(cause);
+        gated++;
+        cancel();
+    }
+
+    public synchronized void onRestartFailed() {
+        failures++;
+        cancel();
+    }
+
+    /**
+     * Forgets a restart that will not complete, e.g. because listening stopped.
+     */
+    public synchronized void cancel() {
+        pendingCause = null;
+        pendingSince = 0;
+    }
+
+    /**
+     * Completes the pending restart, returns the event to emit or null if none was pending.
+     */
+    public synchronized JSObject onReady(long nowNanos) {
+        if (pendingCause == null) {
+            return null;
+        }
+        long gap = Math.max(0, nowNanos - pendingSince);
+        deadAir.record(gap);
+        totalDeadAirNanos += gap;
+
+        JSObject ret = new JSObject();
+        ret.put("deadAirMs", gap / 1e6);
+        ret.put("cause", pendingCause);
+        cancel();
+        return ret;
+    }
+
+    public synchronized JSObject getMetrics() {
+        JSObject byCause = new JSObject();
+        long total = 0;
+        for (int i = 0; i < CAUSES.length; i++) {
+            byCause.put(CAUSES[i], restarts[i]);
+            total += restarts[i];
+        }
+
+        JSObject ret = new JSObject();
+        ret.put("sessions", sessions);
+        ret.put("restarts", total);
+        ret.put("restartsByCause", byCause);
+        ret.put("gatedRestarts", gated);
+        ret.put("failures", failures);
+        ret.put("deadAir", deadAir.snapshot());
+        ret.put("totalDeadAirMs", totalDeadAirNanos / 1e6);
+        return ret;
+    }
+
+    public synchronized void reset() {
+        for (int i = 0; i < restarts.length; i++) {
+            restarts[i] = 0;
+        }
+        deadAir.reset();
+        sessions = 0;
+        gated = 0;
+        failures = 0;
+        totalDeadAirNanos = 0;
+    }
+
+    private void count(String cause) {
+        for (int i = 0; i < CAUSES.length; i++) {
+            if (CAUSES[i].equals(cause)) {
+                restarts[i]++;
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.getcapacitor.community.speechrecognition;
+
+import com.getcapacitor.JSArray;
+import com.getcapacitor.JSObject;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Final recognition alternatives together with their confidence scores.
+ *
+ * Alternatives scoring below the minimum are dropped and the rest are sorted
+ * by confidence before anything is serialized. Alternatives without a score
+ * (reported as -1) are kept, after the scored ones.
+ */
+public class ScoredMatches {
+
+    public final ArrayList<String> matches;
+    /**
+     * Scores in the order of the matches, null if the recognizer reported none.
+     */
+    public final float[] confidences;
+
+    private ScoredMatches(ArrayList<String> matches, float[] confidences) {
+        this.matches = matches;
+        this.confidences = confidences;
+    }
+
+    public static ScoredMatches of(List<String> matches, float[] scores, float minConfidence) {
+        if (matches == null) {
+            return new ScoredMatches(new ArrayList<>(), null);
+        }
+        if (scores == null || scores.length != matches.size()) {
+            return new ScoredMatches(new ArrayList<>(matches), null);
+        }
+
+        // Insertion sort of the kept indexes, there are only a handful of alternatives
+        int[] order = new int[matches.size()];
+        int kept = 0;
+        for (int i = 0; i < matches.size(); i++) {
+            if (scores[i] >= 0 && scores[i] < minConfidence) {
+                continue;
+            }
+            int j = kept++;
+            while (j > 0 && rank(scores[i]) > rank(scores[order[j - 1]])) {
+                order[j] = order[j - 1];
+                j--;
+            }
+            order[j] = i;
+        }
+
+        ArrayList<String> keptMatches = new ArrayList<>(kept);
+        float[] keptScores = new float[kept];
+        for (int i = 0; i < kept; i++) {
+            keptMatches.add(matches.get(order[i]));
+            keptScores[i] = scores[order[i]];
+        }
+        return new ScoredMatches(keptMatches, keptScores);
+    }
+
+    /**
+     * Adds "matches" and, when known, "confidences" to the given object.
+     */
+    public JSObject putInto(JSObject target) {
+        target.put("matches", new JSArray(matches));
+        if (confidences != null) {
+            JSArray scores = new JSArray();
+            for (float confidence : confidences) {
+                try {
+                    scores.put((double) confidence);
+                } catch (Exception ignored) {}
+            }
+            target.put("confidences", scores);
+        }
+        return target;
+    }
+
+    private static float rank(float score) {
+        return score < 0 ? -1 : score;
+    }
+}
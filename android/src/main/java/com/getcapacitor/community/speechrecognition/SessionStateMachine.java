@@ -0,0 +1,130 @@
+package com.getcapacitor.community.speechrecognition;
+
+import android.os.SystemClock;
+import com.getcapacitor.JSObject;
+import java.util.EnumSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Listening session state held in a single atomic reference.
+ *
+ * Transitions are compare-and-set, so callers on the main thread, the binder
+ * thread and posted runnables never need a lock. Every successful transition
+ * is counted together with the time spent in the state it left.
+ */
+public class SessionStateMachine {
+
+    public enum State {
+        IDLE,
+        STARTING,
+        LISTENING,
+        RESTARTING,
+        STOPPING;
+
+        public boolean isActive() {
+            return this == STARTING || this == LISTENING || this == RESTARTING;
+        }
+    }
+
+    public static final EnumSet<State> ACTIVE = EnumSet.of(State.STARTING, State.LISTENING, State.RESTARTING);
+
+    private static final int STATES = State.values().length;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.IDLE);
+    private final AtomicLong enteredAt = new AtomicLong(SystemClock.elapsedRealtimeNanos());
+    private final AtomicLongArray counts = new AtomicLongArray(STATES * STATES);
+    private final AtomicLongArray nanos = new AtomicLongArray(STATES * STATES);
+
+    public State get() {
+        return state.get();
+    }
+
+    public boolean isActive() {
+        return state.get().isActive();
+    }
+
+    public boolean is(State expected) {
+        return state.get() == expected;
+    }
+
+    /**
+     * Moves from the given state to the target state, returns false if the session was in another state.
+     */
+    public boolean transition(State from, State to) {
+        if (!state.compareAndSet(from, to)) {
+            return false;
+        }
+        record(from, to);
+        return true;
+    }
+
+    /**
+     * Moves from any of the given states to the target state, returns false if the session was in none of them.
+     */
+    public boolean transition(EnumSet<State> from, State to) {
+        while (true) {
+            State current = state.get();
+            if (!from.contains(current)) {
+                return false;
+            }
+            if (state.compareAndSet(current, to)) {
+                record(current, to);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Moves to the target state whatever the current state is, returns the previous state.
+     */
+    public State force(State to) {
+        State previous = state.getAndSet(to);
+        record(previous, to);
+        return previous;
+    }
+
+    public void resetMetrics() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+            nanos.set(i, 0);
+        }
+    }
+
+    /**
+     * Transition counts and the average time spent in the source state, keyed by "FROM->TO".
+     */
+    public JSObject getMetrics() {
+        JSObject transitions = new JSObject();
+        for (State from : State.values()) {
+            for (State to : State.values()) {
+                int index = from.ordinal() * STATES + to.ordinal();
+                long count = counts.get(index);
+                if (count == 0) {
+                    continue;
+                }
+                JSObject entry = new JSObject();
+                entry.put("count", count);
+                entry.put("averageMs", nanos.get(index) / 1e6 / count);
+                transitions.put(from.name() + "->" + to.name(), entry);
+            }
+        }
+
+        JSObject ret = new JSObject();
+        ret.put("state", state.get().name());
+        ret.put("transitions", transitions);
+        return ret;
+    }
+
+    /**
+     * The time in state is approximate when transitions race, which is fine for profiling.
+     */
+    private void record(State from, State to) {
+        long now = SystemClock.elapsedRealtimeNanos();
+        long since = enteredAt.getAndSet(now);
+        int index = from.ordinal() * STATES + to.ordinal();
+        counts.incrementAndGet(index);
+        nanos.addAndGet(index, now - since);
+    }
+}
@@ -0,0 +1,90 @@
+package com.getcapacitor.community.speechrecognition;
+
+import android.os.Handler;
+import android.os.SystemClock;
+
+/**
+ * A single reusable silence timer.
+ *
+ * Arming again moves the deadline instead of posting another task: if the
+ * posted check fires before the current deadline it simply re-posts itself
+ * for the remainder. Scheduling uses the handler's uptime clock, the actual
+ * time until expiry is measured with elapsedRealtimeNanos. Called on the
+ * handler thread.
+ */
+public class SilenceDeadline {
+
+    private final Handler handler;
+    private final Runnable onExpired;
+    private final Runnable check = this::check;
+
+    private boolean armed = false;
+    private boolean posted = false;
+    private long postedFor = 0;
+    private long deadline = 0;
+    private long armedAtNanos = 0;
+    private long configuredMs = 0;
+    private double lastActualMs = 0;
+
+    public SilenceDeadline(Handler handler, Runnable onExpired) {
+        this.handler = handler;
+        this.onExpired = onExpired;
+    }
+
+    public void arm(long timeoutMs) {
+        armed = true;
+        configuredMs = timeoutMs;
+        armedAtNanos = SystemClock.elapsedRealtimeNanos();
+        deadline = SystemClock.uptimeMillis() + timeoutMs;
+
+        // A check already posted for an earlier time re-posts itself when it fires
+        if (posted && postedFor <= deadline) {
+            return;
+        }
+        post();
+    }
+
+    public void cancel() {
+        armed = false;
+        if (posted) {
+            handler.removeCallbacks(check);
+            posted = false;
+        }
+    }
+
+    public boolean isArmed() {
+        return armed;
+    }
+
+    public long getConfiguredMs() {
+        return configuredMs;
+    }
+
+    /**
+     * Time between the last arm() and the expiry, measured on the monotonic clock.
+     */
+    public double getLastActualMs() {
+        return lastActualMs;
+    }
+
+    private void post() {
+        handler.removeCallbacks(check);
+        handler.postAtTime(check, deadline);
+        posted = true;
+        postedFor = deadline;
+    }
+
+    private void check() {
+        posted = false;
+        if (!armed) {
+            return;
+        }
+        if (SystemClock.uptimeMillis() < deadline) {
+            post();
+            return;
+        }
+        armed = false;
+        lastActualMs = (SystemClock.elapsedRealtimeNanos() - armedAtNanos) / 1e6;
+        onExpired.run();
+    }
+}
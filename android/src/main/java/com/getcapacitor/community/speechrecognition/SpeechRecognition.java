@@ -4,7 +4,13 @@ import android.Manifest;
 import android.app.Activity;
 import android.content.Intent;
 import android.os.Build;
+import android.media.AudioFormat;
+import android.net.Uri;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.ParcelFileDescriptor;
+import android.os.SystemClock;
 import android.speech.RecognitionListener;
 import android.speech.RecognizerIntent;
 import android.speech.SpeechRecognizer;
@@ -19,11 +25,14 @@ import com.getcapacitor.PluginMethod;
 import com.getcapacitor.annotation.ActivityCallback;
 import com.getcapacitor.annotation.CapacitorPlugin;
 import com.getcapacitor.annotation.Permission;
+import com.getcapacitor.community.speechrecognition.SessionStateMachine.State;
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
-import java.util.concurrent.locks.ReentrantLock;
-import org.json.JSONArray;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @CapacitorPlugin(
     permissions = { @Permission(strings = { Manifest.permission.RECORD_AUDIO }, alias = SpeechRecognition.SPEECH_RECOGNITION) }
@@ -33,36 +42,116 @@ public class SpeechRecognition extends Plugin implements Constants {
     public static final String TAG = "SpeechRecognition";
     private static final String LISTENING_EVENT = "listeningState";
     private static final String ERROR_EVENT = "onError";
+    private static final String RESTART_EVENT = "continuousRestart";
+    private static final String PARTIAL_RESULTS_DELTA_EVENT = "partialResultsDelta";
+    private static final String VOLUME_LEVEL_EVENT = "volumeLevel";
+    private static final String ENGINE_SESSION_EVENT = "engineSession";
+    private static final String TRANSCRIPTION_PROGRESS_EVENT = "transcriptionProgress";
+    private static final String COMMAND_EVENT = "commandDetected";
     static final String SPEECH_RECOGNITION = "speechRecognition";
 
-    private Receiver languageReceiver;
+    private SupportedLanguages supportedLanguages;
     private SpeechRecognizer speechRecognizer;
+    private Handler mainHandler;
+    private RecognizerPool recognizerPool;
+    private boolean recognizerWarm = false;
+    private long startListeningNanos = 0;
+    private long timeToReadyNanos = 0;
+    private RecognitionEngine recognitionEngine;
+    private boolean onDevice = false;
+    private boolean engineFallback = false;
+    private int startGeneration = 0;
+    private float popupMinConfidence = 0;
 
-    private final ReentrantLock lock = new ReentrantLock();
-    private boolean listening = false;
+    private SpeechRecognizer armedRecognizer;
+    private boolean armedWarm = false;
 
-    private JSONArray previousPartialResults = new JSONArray();
-    private Runnable pendingSilenceTimeoutTask = null;
-    private boolean isStoppingIntentionally = false;
-    private boolean isRestarting = false;
+    final SessionStateMachine sessionState = new SessionStateMachine();
+
+    private final PartialResultsFilter partialResultsFilter = new PartialResultsFilter();
+    private final PartialResultsDeltaEncoder partialResultsDeltaEncoder = new PartialResultsDeltaEncoder();
+    private PartialResultsThrottle partialResultsThrottle;
+    private final VolumeLevelMeter volumeLevelMeter = new VolumeLevelMeter();
+    private final CommandSpotter commandSpotter = new CommandSpotter();
+    private volatile FuzzyVocabulary vocabulary;
+    private final TranscriptStore transcriptStore = new TranscriptStore();
+    private final LatencyMetrics latencyMetrics = new LatencyMetrics();
+    private final RestartTelemetry restartTelemetry = new RestartTelemetry();
+    private final CallbackTrace callbackTrace = new CallbackTrace();
+    private long listeningSinceNanos = 0;
+    private AudioCaptureBuffer audioCaptureBuffer;
+    private VoiceActivityGate voiceActivityGate;
+    private SilenceDeadline silenceDeadline;
+    private RecognitionAvailability recognitionAvailability;
+    private FileTranscriptionQueue fileTranscriptionQueue;
+    private Runnable pendingRestartTask = null;
+    private final Map<String, RecognitionProfile> profiles = new ConcurrentHashMap<>();
+    private RestartScheduler restartScheduler = new AdaptiveRestartScheduler();
+    private RecognizerPool.Factory recognizerFactory = RecognizerPool.DEFAULT_FACTORY;
 
     @Override
     public void load() {
         super.load();
+        mainHandler = new Handler(Looper.getMainLooper());
+        recognizerPool = new RecognizerPool(bridge.getActivity(), mainHandler, recognizerFactory);
+        partialResultsThrottle = new PartialResultsThrottle(mainHandler);
+        voiceActivityGate = new VoiceActivityGate(mainHandler);
+        silenceDeadline = new SilenceDeadline(mainHandler, this::onSilenceTimeout);
+        supportedLanguages = new SupportedLanguages(bridge.getActivity());
+        recognitionAvailability = new RecognitionAvailability(
+            bridge.getContext(),
+            packageName -> {
+                if (SupportedLanguages.GOOGLE_PACKAGE.equals(packageName)) {
+                    supportedLanguages.invalidate();
+                }
+            }
+        );
+        recognitionAvailability.register();
+        recognitionEngine = new RecognitionEngine(bridge.getContext(), mainHandler);
+        fileTranscriptionQueue = new FileTranscriptionQueue(
+            bridge.getContext(),
+            mainHandler,
+            progress -> notifyListeners(TRANSCRIPTION_PROGRESS_EVENT, progress)
+        );
+        bridge.execute(supportedLanguages::prefetch);
         bridge
             .getWebView()
             .post(() -> {
-                speechRecognizer = SpeechRecognizer.createSpeechRecognizer(bridge.getActivity());
-                SpeechRecognitionListener listener = new SpeechRecognitionListener();
-                speechRecognizer.setRecognitionListener(listener);
-                Logger.info(getLogTag(), "Instantiated SpeechRecognizer in load()");
+                // A null component lets SpeechRecognizer bind the system's default recognition service
+                recognizerPool.prewarm(null, false);
+                Logger.info(getLogTag(), "Pre-warming SpeechRecognizer in load()");
             });
     }
 
+    @Override
+    protected void handleOnDestroy() {
+        bridge
+            .getWebView()
+            .post(() -> {
+                // Nothing scheduled for the session may run on a destroyed plugin
+                sessionState.force(State.IDLE);
+                cancelPendingRestart();
+                silenceDeadline.cancel();
+                partialResultsThrottle.discardPending();
+                if (speechRecognizer != null) {
+                    speechRecognizer.destroy();
+                    speechRecognizer = null;
+                }
+                // The recognizer armed for a gapless hand-off holds its own service binding
+                releaseArmedRecognizer();
+                recognizerPool.destroy();
+                voiceActivityGate.stop();
+                voiceActivityGate.endSession();
+            });
+        fileTranscriptionQueue.destroy();
+        recognitionAvailability.unregister();
+        super.handleOnDestroy();
+    }
+
     @PluginMethod
     public void available(PluginCall call) {
-        Logger.info(getLogTag(), "Called for available(): " + isSpeechRecognitionAvailable());
         boolean val = isSpeechRecognitionAvailable();
+        Logger.info(getLogTag(), "Called for available(): " + val);
         JSObject result = new JSObject();
         result.put("available", val);
         call.resolve(result);
@@ -70,6 +159,7 @@ public class SpeechRecognition extends Plugin implements Constants {
 
     @PluginMethod
     public void start(PluginCall call) {
+        latencyMetrics.onStartCall();
         if (!isSpeechRecognitionAvailable()) {
             call.unavailable(NOT_AVAILABLE);
             return;
@@ -80,14 +170,39 @@ public class SpeechRecognition extends Plugin implements Constants {
             return;
         }
 
-        String language = call.getString("language", Locale.getDefault().toString());
-        int maxResults = call.getInt("maxResults", MAX_RESULTS);
-        String prompt = call.getString("prompt", null);
-        boolean partialResults = call.getBoolean("partialResults", false);
-        boolean popup = call.getBoolean("popup", false);
-        boolean continuous = call.getBoolean("continuous", false);
-        Integer silenceTimeout = call.getInt("silenceTimeout", null);
-        beginListening(language, maxResults, prompt, partialResults, popup, continuous, silenceTimeout, call);
+        RecognitionProfile profile;
+        String profileId = call.getString("profile");
+        if (profileId != null) {
+            profile = profiles.get(profileId);
+            if (profile == null) {
+                call.reject("Unknown profile: " + profileId);
+                return;
+            }
+        } else {
+            try {
+                profile = RecognitionProfile.from(call.getData(), getContext().getPackageName());
+            } catch (IllegalArgumentException ex) {
+                call.reject(ex.getMessage());
+                return;
+            }
+        }
+        beginListening(profile, call);
+    }
+
+    @PluginMethod
+    public void registerProfile(PluginCall call) {
+        String id = call.getString("id");
+        if (id == null || id.isEmpty()) {
+            call.reject("Must provide a profile id");
+            return;
+        }
+
+        try {
+            profiles.put(id, RecognitionProfile.from(call.getObject("options"), getContext().getPackageName()));
+            call.resolve();
+        } catch (IllegalArgumentException ex) {
+            call.reject(ex.getMessage());
+        }
     }
 
     @PluginMethod
@@ -101,27 +216,200 @@ public class SpeechRecognition extends Plugin implements Constants {
 
     @PluginMethod
     public void getSupportedLanguages(PluginCall call) {
-        if (languageReceiver == null) {
-            languageReceiver = new Receiver(call);
+        supportedLanguages.get(call);
+    }
+
+    @PluginMethod
+    public void isListening(PluginCall call) {
+        call.resolve(new JSObject().put("listening", sessionState.isActive()));
+    }
+
+    @PluginMethod
+    public void getSessionStateMetrics(PluginCall call) {
+        JSObject metrics = sessionState.getMetrics();
+        if (call.getBoolean("reset", false)) {
+            sessionState.resetMetrics();
         }
+        call.resolve(metrics);
+    }
 
-        List<String> supportedLanguages = languageReceiver.getSupportedLanguages();
-        if (supportedLanguages != null) {
-            JSONArray languages = new JSONArray(supportedLanguages);
-            call.resolve(new JSObject().put("languages", languages));
+    @PluginMethod
+    public void getPartialSnapshot(PluginCall call) {
+        call.resolve(partialResultsDeltaEncoder.snapshot());
+    }
+
+    @PluginMethod
+    public void getPartialResultsMetrics(PluginCall call) {
+        bridge
+            .getWebView()
+            .post(() -> call.resolve(partialResultsFilter.getMetrics().put("coalesced", partialResultsThrottle.getCoalesced())));
+    }
+
+    @PluginMethod
+    public void getCapturedAudio(PluginCall call) {
+        AudioCaptureBuffer buffer = audioCaptureBuffer;
+        if (buffer == null) {
+            call.reject("Audio capture was not enabled");
             return;
         }
 
-        Intent detailsIntent = new Intent(RecognizerIntent.ACTION_GET_LANGUAGE_DETAILS);
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
-            detailsIntent.setPackage("com.google.android.googlequicksearchbox");
+        try {
+            File file = new File(getContext().getCacheDir(), "speech-capture-" + System.currentTimeMillis() + ".pcm");
+            buffer.flushTo(file);
+            JSObject ret = new JSObject();
+            ret.put("path", file.getAbsolutePath());
+            ret.put("bytes", file.length());
+            ret.put("totalBytes", buffer.totalBytes());
+            call.resolve(ret);
+        } catch (IOException ex) {
+            call.reject(ex.getMessage());
         }
-        bridge.getActivity().sendOrderedBroadcast(detailsIntent, null, languageReceiver, null, Activity.RESULT_OK, null, null);
     }
 
     @PluginMethod
-    public void isListening(PluginCall call) {
-        call.resolve(new JSObject().put("listening", SpeechRecognition.this.listening));
+    public void getVoiceActivityGateMetrics(PluginCall call) {
+        call.resolve(voiceActivityGate.getMetrics());
+    }
+
+    @PluginMethod
+    public void getRecognizerPoolMetrics(PluginCall call) {
+        bridge.getWebView().post(() -> call.resolve(recognizerPool.getMetrics()));
+    }
+
+    @PluginMethod
+    public void registerCommands(PluginCall call) {
+        JSArray array = call.getArray("commands");
+        List<String> commands = new ArrayList<>();
+        try {
+            for (Object value : array.toList()) {
+                commands.add(value.toString());
+            }
+        } catch (Exception ex) {
+            call.reject("Must provide an array of commands");
+            return;
+        }
+        call.resolve(new JSObject().put("count", commandSpotter.setCommands(commands)));
+    }
+
+    @PluginMethod
+    public void loadVocabulary(PluginCall call) {
+        JSArray array = call.getArray("entries");
+        List<String> entries = new ArrayList<>();
+        try {
+            for (Object value : array.toList()) {
+                entries.add(value.toString());
+            }
+        } catch (Exception ex) {
+            call.reject("Must provide an array of entries");
+            return;
+        }
+
+        // Built on the plugin thread, results are matched against it on the main thread
+        vocabulary = entries.isEmpty()
+            ? null
+            : FuzzyVocabulary.build(
+                entries,
+                call.getInt("topK", FuzzyVocabulary.DEFAULT_TOP_K),
+                call.getInt("maxDistance", -1),
+                call.getInt("budgetMs", (int) FuzzyVocabulary.DEFAULT_BUDGET_MS)
+            );
+        call.resolve(new JSObject().put("count", entries.size()));
+    }
+
+    @PluginMethod
+    public void getTranscript(PluginCall call) {
+        long sinceSeq = call.getLong("sinceSeq", -1L);
+        int limit = call.getInt("limit", TranscriptStore.DEFAULT_PAGE);
+        call.resolve(transcriptStore.page(sinceSeq, limit));
+    }
+
+    @PluginMethod
+    public void clearTranscript(PluginCall call) {
+        transcriptStore.clear();
+        call.resolve();
+    }
+
+    @PluginMethod
+    public void transcribeFiles(PluginCall call) {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.TIRAMISU) {
+            call.unavailable("Transcribing files requires Android 13 or newer");
+            return;
+        }
+
+        JSArray array = call.getArray("paths");
+        List<String> paths = new ArrayList<>();
+        try {
+            for (Object value : array.toList()) {
+                String path = value.toString();
+                paths.add(path.startsWith("file://") ? Uri.parse(path).getPath() : path);
+            }
+        } catch (Exception ex) {
+            call.reject("Must provide an array of file paths");
+            return;
+        }
+        if (paths.isEmpty()) {
+            call.reject("Must provide an array of file paths");
+            return;
+        }
+
+        String language = call.getString("language", Locale.getDefault().toString());
+        int concurrency = call.getInt("concurrency", 1);
+        if (!fileTranscriptionQueue.enqueue(paths, language, concurrency)) {
+            call.reject("Transcription queue is full");
+            return;
+        }
+        call.resolve(new JSObject().put("queued", paths.size()));
+    }
+
+    @PluginMethod
+    public void getTranscriptionMetrics(PluginCall call) {
+        call.resolve(fileTranscriptionQueue.getMetrics());
+    }
+
+    @PluginMethod
+    public void getMetrics(PluginCall call) {
+        call.resolve(latencyMetrics.snapshot());
+    }
+
+    @PluginMethod
+    public void resetMetrics(PluginCall call) {
+        latencyMetrics.reset();
+        call.resolve();
+    }
+
+    @PluginMethod
+    public void startCallbackTrace(PluginCall call) {
+        callbackTrace.start();
+        call.resolve();
+    }
+
+    @PluginMethod
+    public void stopCallbackTrace(PluginCall call) {
+        if (!callbackTrace.stop()) {
+            call.reject("No callback trace is being recorded");
+            return;
+        }
+        try {
+            File file = new File(getContext().getCacheDir(), "speech-trace-" + System.currentTimeMillis() + ".srt");
+            callbackTrace.writeTo(file);
+            JSObject ret = new JSObject();
+            ret.put("path", file.getAbsolutePath());
+            ret.put("bytes", file.length());
+            ret.put("callbacks", callbackTrace.getRecords());
+            ret.put("dropped", callbackTrace.getDropped());
+            call.resolve(ret);
+        } catch (IOException ex) {
+            call.reject(ex.getMessage());
+        }
+    }
+
+    @PluginMethod
+    public void getRestartMetrics(PluginCall call) {
+        JSObject metrics = restartTelemetry.getMetrics();
+        if (call.getBoolean("reset", false)) {
+            restartTelemetry.reset();
+        }
+        call.resolve(metrics);
     }
 
     @ActivityCallback
@@ -133,10 +421,10 @@ public class SpeechRecognition extends Plugin implements Constants {
         int resultCode = result.getResultCode();
         if (resultCode == Activity.RESULT_OK) {
             try {
-                ArrayList<String> matchesList = result.getData().getStringArrayListExtra(RecognizerIntent.EXTRA_RESULTS);
-                JSObject resultObj = new JSObject();
-                resultObj.put("matches", new JSArray(matchesList));
-                call.resolve(resultObj);
+                Intent data = result.getData();
+                ArrayList<String> matchesList = data.getStringArrayListExtra(RecognizerIntent.EXTRA_RESULTS);
+                float[] scores = data.getFloatArrayExtra(RecognizerIntent.EXTRA_CONFIDENCE_SCORES);
+                call.resolve(ScoredMatches.of(matchesList, scores, popupMinConfidence).putInto(new JSObject()));
             } catch (Exception ex) {
                 call.reject(ex.getMessage());
             }
@@ -144,107 +432,355 @@ public class SpeechRecognition extends Plugin implements Constants {
             call.reject(Integer.toString(resultCode));
         }
 
-        SpeechRecognition.this.lock.lock();
-        SpeechRecognition.this.listening(false);
-        SpeechRecognition.this.lock.unlock();
+        sessionState.force(State.IDLE);
     }
 
-    private boolean isSpeechRecognitionAvailable() {
-        return SpeechRecognizer.isRecognitionAvailable(bridge.getContext());
+    /**
+     * Replaces the scheduler that decides when continuous mode restarts the recognizer.
+     */
+    public void setRestartScheduler(RestartScheduler restartScheduler) {
+        this.restartScheduler = restartScheduler;
     }
 
-    private void listening(boolean value) {
-        this.listening = value;
+    /**
+     * Replaces how recognizers are created, must be called before the plugin is loaded.
+     */
+    public void setRecognizerFactory(RecognizerPool.Factory recognizerFactory) {
+        this.recognizerFactory = recognizerFactory;
     }
 
-    private void beginListening(
-        String language,
-        int maxResults,
-        String prompt,
-        final boolean partialResults,
-        boolean showPopup,
-        boolean continuous,
-        Integer silenceTimeout,
-        PluginCall call
-    ) {
-        Logger.info(getLogTag(), "Beginning to listen for audible speech");
-
-        final Intent intent = new Intent(RecognizerIntent.ACTION_RECOGNIZE_SPEECH);
-        intent.putExtra(RecognizerIntent.EXTRA_LANGUAGE_MODEL, RecognizerIntent.LANGUAGE_MODEL_FREE_FORM);
-        intent.putExtra(RecognizerIntent.EXTRA_LANGUAGE, language);
-        intent.putExtra(RecognizerIntent.EXTRA_MAX_RESULTS, maxResults);
-        intent.putExtra(RecognizerIntent.EXTRA_CALLING_PACKAGE, bridge.getActivity().getPackageName());
-        intent.putExtra(RecognizerIntent.EXTRA_PARTIAL_RESULTS, partialResults);
-        intent.putExtra("android.speech.extra.DICTATION_MODE", partialResults);
+    private boolean isSpeechRecognitionAvailable() {
+        return recognitionAvailability.isAvailable();
+    }
 
-        if (prompt != null) {
-            intent.putExtra(RecognizerIntent.EXTRA_PROMPT, prompt);
-        }
+    private void beginListening(final RecognitionProfile profile, PluginCall call) {
+        Logger.info(getLogTag(), "Beginning to listen for audible speech");
 
-        if (showPopup) {
-            startActivityForResult(call, intent, "listeningResult");
+        if (profile.popup) {
+            popupMinConfidence = profile.minConfidence;
+            startActivityForResult(call, profile.intentFor(RecognitionEngine.ON_DEVICE.equals(profile.engine)), "listeningResult");
         } else {
             bridge
                 .getWebView()
                 .post(() -> {
                     try {
-                        SpeechRecognition.this.lock.lock();
+                        sessionState.force(State.STARTING);
 
-                        if (speechRecognizer != null) {
-                            speechRecognizer.cancel();
-                            speechRecognizer.destroy();
-                            speechRecognizer = null;
-                        }
-
-                        speechRecognizer = SpeechRecognizer.createSpeechRecognizer(bridge.getActivity());
-                        
-                        // Check if speech recognizer was created successfully
-                        if (speechRecognizer == null) {
-                            call.reject("Failed to create speech recognizer");
-                            return;
-                        }
-                        
-                        SpeechRecognitionListener listener = new SpeechRecognitionListener();
-                        listener.setCall(call);
-                        listener.setPartialResults(partialResults);
-                        listener.setContinuous(continuous);
-                        listener.setSilenceTimeout(silenceTimeout);
-                        speechRecognizer.setRecognitionListener(listener);
-                        speechRecognizer.startListening(intent);
-                        SpeechRecognition.this.listening(true);
-                        if (partialResults) {
-                            call.resolve();
+                        // Hand the previous recognizer back and take the pre-bound standby
+                        recognizerPool.release(speechRecognizer);
+                        speechRecognizer = null;
+                        releaseArmedRecognizer();
+                        cancelPendingRestart();
+                        silenceDeadline.cancel();
+                        voiceActivityGate.stop();
+                        voiceActivityGate.endSession();
+                        partialResultsDeltaEncoder.reset();
+                        partialResultsFilter.reset();
+                        commandSpotter.reset();
+                        partialResultsThrottle.discardPending();
+                        partialResultsThrottle.setIntervalMs(profile.partialResultsIntervalMs);
+                        volumeLevelMeter.reset();
+                        volumeLevelMeter.setRateHz(profile.volumeLevelRateHz);
+                        if (profile.captureAudio) {
+                            prepareAudioCapture();
                         }
+                        restartScheduler.reset();
+                        engineFallback = false;
+                        listeningSinceNanos = SystemClock.elapsedRealtimeNanos();
+                        final int generation = ++startGeneration;
+                        recognitionEngine.select(profile, selected -> startSession(profile, selected, generation, call));
                     } catch (Exception ex) {
+                        sessionState.force(State.IDLE);
                         call.reject(ex.getMessage());
-                    } finally {
-                        SpeechRecognition.this.lock.unlock();
                     }
                 });
         }
     }
 
+    /**
+     * Starts the first recognizer session once the engine is known, unless stop() or
+     * another start() came first.
+     */
+    private void startSession(RecognitionProfile profile, boolean onDevice, int generation, PluginCall call) {
+        if (generation != startGeneration || !sessionState.is(State.STARTING)) {
+            call.reject("Listening was stopped before it started");
+            return;
+        }
+
+        try {
+            this.onDevice = onDevice;
+            RecognizerPool.Acquired acquired = acquireRecognizer();
+
+            // Check if speech recognizer was created successfully
+            if (acquired == null) {
+                sessionState.force(State.IDLE);
+                call.reject("Failed to create speech recognizer");
+                return;
+            }
+            latencyMetrics.onRecognizerCreated();
+
+            speechRecognizer = acquired.recognizer;
+            SpeechRecognitionListener listener = new SpeechRecognitionListener();
+            listener.setCall(call);
+            listener.setProfile(profile);
+            speechRecognizer.setRecognitionListener(listener);
+            startRecognizer(profile.intentFor(onDevice), acquired.warm);
+            if (profile.continuous && profile.voiceActivityGate) {
+                voiceActivityGate.beginSession();
+            }
+            if (profile.partialResults) {
+                call.resolve();
+            }
+        } catch (Exception ex) {
+            sessionState.force(State.IDLE);
+            call.reject(ex.getMessage());
+        }
+    }
+
+    private RecognizerPool.Acquired acquireRecognizer() {
+        return recognizerPool.acquire(null, onDevice);
+    }
+
+    /**
+     * The ring is allocated once and reused, every session starts with an empty capture.
+     */
+    private void prepareAudioCapture() {
+        if (audioCaptureBuffer == null) {
+            audioCaptureBuffer = new AudioCaptureBuffer(AudioCaptureBuffer.DEFAULT_CAPACITY_BYTES);
+        }
+        audioCaptureBuffer.clear();
+    }
+
+    private void startRecognizer(Intent intent, boolean warm) {
+        recognizerWarm = warm;
+        startListeningNanos = SystemClock.elapsedRealtimeNanos();
+        timeToReadyNanos = 0;
+        latencyMetrics.onSessionStarted();
+        restartTelemetry.onSessionStarted();
+        speechRecognizer.startListening(intent);
+    }
+
+    /**
+     * Prepares the recognizer for the next continuous session while the current one is
+     * still running, so the hand-off does not wait for a recognizer to be created.
+     */
+    private void armNextSession(RecognitionListener listener) {
+        if (armedRecognizer != null) {
+            return;
+        }
+        RecognizerPool.Acquired acquired = acquireRecognizer();
+        if (acquired == null) {
+            return;
+        }
+        armedRecognizer = acquired.recognizer;
+        armedWarm = acquired.warm;
+        armedRecognizer.setRecognitionListener(listener);
+    }
+
+    /**
+     * Starts the armed recognizer as soon as the current session ends.
+     */
+    private void handOffSession(SpeechRecognitionListener listener, long sessionEndNanos, long delayMs) {
+        if (!sessionState.isActive()) {
+            return;
+        }
+        if (delayMs > 0) {
+            pendingRestartTask = () -> {
+                pendingRestartTask = null;
+                handOffSession(listener, sessionEndNanos, 0);
+            };
+            bridge.getWebView().postDelayed(pendingRestartTask, delayMs);
+            return;
+        }
+        armNextSession(listener);
+        if (armedRecognizer == null) {
+            restartTelemetry.onRestartFailed();
+            Logger.error(getLogTag(), "Failed to restart listening: no recognizer available", null);
+            return;
+        }
+
+        if (!sessionState.transition(SessionStateMachine.ACTIVE, State.RESTARTING)) {
+            return;
+        }
+
+        SpeechRecognizer previous = speechRecognizer;
+        speechRecognizer = armedRecognizer;
+        armedRecognizer = null;
+        recognizerPool.release(previous);
+
+        try {
+            startRecognizer(listener.profile.intentFor(onDevice), armedWarm);
+        } catch (Exception ex) {
+            sessionState.transition(State.RESTARTING, State.LISTENING);
+            restartTelemetry.onRestartFailed();
+            Logger.error(getLogTag(), "Failed to restart listening: " + ex.getMessage(), null);
+        }
+    }
+
+    /**
+     * Releases the recognizer during silence and restarts it once the gate hears speech.
+     */
+    private void gateUntilSpeech(SpeechRecognitionListener listener) {
+        if (!sessionState.transition(SessionStateMachine.ACTIVE, State.RESTARTING)) {
+            return;
+        }
+        recognizerPool.release(speechRecognizer);
+        speechRecognizer = null;
+
+        if (!voiceActivityGate.start(() -> restartFromGate(listener))) {
+            Logger.error(getLogTag(), "Voice activity gate unavailable, restarting right away", null);
+            restartFromGate(listener);
+        }
+    }
+
+    private void restartFromGate(SpeechRecognitionListener listener) {
+        if (!sessionState.is(State.RESTARTING)) {
+            voiceActivityGate.stop();
+            return;
+        }
+
+        // On API 33+ the recognizer reads the gate's stream, which starts with the pre-roll
+        Intent intent = listener.profile.intentFor(onDevice);
+        ParcelFileDescriptor stream = null;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.TIRAMISU) {
+            stream = voiceActivityGate.openStream();
+        }
+        if (stream != null) {
+            intent = new Intent(intent);
+            intent.putExtra(RecognizerIntent.EXTRA_AUDIO_SOURCE, stream);
+            intent.putExtra(RecognizerIntent.EXTRA_AUDIO_SOURCE_CHANNEL_COUNT, 1);
+            intent.putExtra(RecognizerIntent.EXTRA_AUDIO_SOURCE_ENCODING, AudioFormat.ENCODING_PCM_16BIT);
+            intent.putExtra(RecognizerIntent.EXTRA_AUDIO_SOURCE_SAMPLING_RATE, VoiceActivityGate.SAMPLE_RATE);
+        } else {
+            voiceActivityGate.stop();
+        }
+
+        try {
+            RecognizerPool.Acquired acquired = acquireRecognizer();
+            if (acquired == null) {
+                throw new IllegalStateException("Failed to create speech recognizer");
+            }
+            speechRecognizer = acquired.recognizer;
+            speechRecognizer.setRecognitionListener(listener);
+            startRecognizer(intent, acquired.warm);
+        } catch (Exception ex) {
+            voiceActivityGate.stop();
+            sessionState.transition(State.RESTARTING, State.LISTENING);
+            restartTelemetry.onRestartFailed();
+            Logger.error(getLogTag(), "Failed to restart listening: " + ex.getMessage(), null);
+        }
+    }
+
+    private void cancelPendingRestart() {
+        if (pendingRestartTask != null) {
+            bridge.getWebView().removeCallbacks(pendingRestartTask);
+            pendingRestartTask = null;
+        }
+    }
+
+    private void releaseArmedRecognizer() {
+        if (armedRecognizer != null) {
+            recognizerPool.release(armedRecognizer);
+            armedRecognizer = null;
+        }
+        restartTelemetry.cancel();
+    }
+
+    /**
+     * Retries a session that failed for engine related reasons on the other engine, once per start().
+     */
+    private boolean fallBackEngine(SpeechRecognitionListener listener, int error) {
+        if (engineFallback || !sessionState.isActive() || !recognitionEngine.shouldFallBack(listener.profile, onDevice, error)) {
+            return false;
+        }
+        engineFallback = true;
+        onDevice = !onDevice;
+        Logger.info(getLogTag(), "Falling back to the " + (onDevice ? "on-device" : "network") + " recognizer after " + RecognitionErrors.text(error));
+
+        // A session that already reported "started" restarts silently
+        sessionState.transition(State.LISTENING, State.RESTARTING);
+        releaseArmedRecognizer();
+        recognizerPool.release(speechRecognizer);
+        speechRecognizer = null;
+        try {
+            RecognizerPool.Acquired acquired = acquireRecognizer();
+            if (acquired == null) {
+                throw new IllegalStateException("Failed to create speech recognizer");
+            }
+            speechRecognizer = acquired.recognizer;
+            speechRecognizer.setRecognitionListener(listener);
+            startRecognizer(listener.profile.intentFor(onDevice), acquired.warm);
+            return true;
+        } catch (Exception ex) {
+            Logger.error(getLogTag(), "Failed to fall back: " + ex.getMessage(), null);
+            return false;
+        }
+    }
+
+    /**
+     * Reports the engine that served the session that just ended and how fast it was.
+     */
+    private void notifyEngineSession(long endOfSpeechNanos) {
+        JSObject ret = new JSObject();
+        ret.put("engine", onDevice ? RecognitionEngine.ON_DEVICE : RecognitionEngine.NETWORK);
+        ret.put("fallback", engineFallback);
+        if (timeToReadyNanos != 0) {
+            ret.put("timeToReadyMs", timeToReadyNanos / 1e6);
+        }
+        if (endOfSpeechNanos != 0) {
+            ret.put("resultLatencyMs", (SystemClock.elapsedRealtimeNanos() - endOfSpeechNanos) / 1e6);
+        }
+        notifyListeners(ENGINE_SESSION_EVENT, ret);
+    }
+
+    private void onSilenceTimeout() {
+        releaseArmedRecognizer();
+        cancelPendingRestart();
+        voiceActivityGate.stop();
+        voiceActivityGate.endSession();
+        partialResultsThrottle.discardPending();
+
+        if (!sessionState.transition(SessionStateMachine.ACTIVE, State.STOPPING)) {
+            return;
+        }
+        JSObject ret = new JSObject();
+        ret.put("status", "stopped");
+        ret.put("silenceTimeoutMs", silenceDeadline.getConfiguredMs());
+        ret.put("actualSilenceMs", silenceDeadline.getLastActualMs());
+        notifyListeners(LISTENING_EVENT, ret);
+
+        // Like stop(), the recognizer confirms with its result or an error that is then ignored
+        if (speechRecognizer != null) {
+            speechRecognizer.stopListening();
+        } else {
+            sessionState.transition(State.STOPPING, State.IDLE);
+        }
+    }
+
     private void stopListening() {
         bridge
             .getWebView()
             .post(() -> {
-                try {
-                    SpeechRecognition.this.lock.lock();
-                    
-                    // Cancel any pending silence timeout task
-                    if (pendingSilenceTimeoutTask != null) {
-                        bridge.getWebView().removeCallbacks(pendingSilenceTimeoutTask);
-                        pendingSilenceTimeoutTask = null;
-                    }
-                    
-                    if (SpeechRecognition.this.listening) {
-                        speechRecognizer.stopListening();
-                        SpeechRecognition.this.listening(false);
-                    }
-                } catch (Exception ex) {
-                    throw ex;
-                } finally {
-                    SpeechRecognition.this.lock.unlock();
+                // Cancel any pending silence timeout
+                silenceDeadline.cancel();
+
+                releaseArmedRecognizer();
+                cancelPendingRestart();
+                voiceActivityGate.stop();
+                voiceActivityGate.endSession();
+                partialResultsThrottle.discardPending();
+
+                // Errors reported while the recognizer winds down are expected and ignored
+                if (!sessionState.transition(SessionStateMachine.ACTIVE, State.STOPPING)) {
+                    return;
+                }
+                if (speechRecognizer != null) {
+                    speechRecognizer.stopListening();
+                } else if (sessionState.transition(State.STOPPING, State.IDLE)) {
+                    // Between sessions there is no recognizer left to confirm the stop
+                    JSObject ret = new JSObject();
+                    ret.put("status", "stopped");
+                    notifyListeners(LISTENING_EVENT, ret);
                 }
             });
     }
@@ -252,106 +788,113 @@ public class SpeechRecognition extends Plugin implements Constants {
     private class SpeechRecognitionListener implements RecognitionListener {
 
         private PluginCall call;
-        private boolean partialResults;
-        private boolean continuous;
-        private Integer silenceTimeout;
-        private long lastSpeechTime;
-        private boolean isListening = false;
+        private RecognitionProfile profile;
+        private final PartialResultsThrottle.Sink partialResultsSink = this::emitPartialResults;
+        private final CommandSpotter.Listener commandSink = this::emitCommand;
+        private long lastSpeechTime = 0;
+        private long endOfSpeechNanos = 0;
 
         public void setCall(PluginCall call) {
             this.call = call;
         }
 
-        public void setPartialResults(boolean partialResults) {
-            this.partialResults = partialResults;
+        public void setProfile(RecognitionProfile profile) {
+            this.profile = profile;
         }
 
-        public void setContinuous(boolean continuous) {
-            this.continuous = continuous;
-        }
-
-        public void setSilenceTimeout(Integer silenceTimeout) {
-            this.silenceTimeout = silenceTimeout;
+        private long sessionEndNanos() {
+            return this.endOfSpeechNanos != 0 ? this.endOfSpeechNanos : SystemClock.elapsedRealtimeNanos();
         }
 
         @Override
         public void onReadyForSpeech(Bundle params) {
+            callbackTrace.onReadyForSpeech();
+            latencyMetrics.onReady();
+            if (SpeechRecognition.this.startListeningNanos != 0) {
+                long elapsed = SystemClock.elapsedRealtimeNanos() - SpeechRecognition.this.startListeningNanos;
+                SpeechRecognition.this.startListeningNanos = 0;
+                SpeechRecognition.this.timeToReadyNanos = elapsed;
+                recognizerPool.recordTimeToReady(SpeechRecognition.this.recognizerWarm, elapsed);
+                restartScheduler.onReady(elapsed / 1000000);
+            }
+
+            // A continuous restart completes here; report how long the mic was unserviced
+            JSObject restart = restartTelemetry.onReady(SystemClock.elapsedRealtimeNanos());
+            if (restart != null) {
+                SpeechRecognition.this.notifyListeners(RESTART_EVENT, restart);
+            }
+
             // Speech recognizer is ready, notify that recording has started
             bridge
                 .getWebView()
                 .post(() -> {
-                    try {
-                        SpeechRecognition.this.lock.lock();
-                        
-                        // Don't send "started" event if we're restarting internally
-                        if (!SpeechRecognition.this.isRestarting) {
-                            JSObject ret = new JSObject();
-                            ret.put("status", "started");
-                            SpeechRecognition.this.notifyListeners(LISTENING_EVENT, ret);
-                        }
-                    } finally {
-                        SpeechRecognition.this.lock.unlock();
+                    // Don't send "started" event if we're restarting internally, or if stop() came first
+                    if (!sessionState.transition(State.RESTARTING, State.LISTENING) && sessionState.transition(State.STARTING, State.LISTENING)) {
+                        JSObject ret = new JSObject();
+                        ret.put("status", "started");
+                        SpeechRecognition.this.notifyListeners(LISTENING_EVENT, ret);
                     }
                 });
         }
 
         @Override
         public void onBeginningOfSpeech() {
-            try {
-                SpeechRecognition.this.lock.lock();
-                this.isListening = true;
-                this.lastSpeechTime = System.currentTimeMillis();
-                
-                // Speech has been detected, no need to notify again since onReadyForSpeech already did
-            } finally {
-                SpeechRecognition.this.lock.unlock();
+            callbackTrace.onBeginningOfSpeech();
+            this.lastSpeechTime = SystemClock.elapsedRealtime();
+            this.endOfSpeechNanos = 0;
+            latencyMetrics.onBeginningOfSpeech();
+            restartScheduler.onSpeech();
+            if (this.profile.silenceTimeout != null) {
+                silenceDeadline.cancel();
             }
+            // Speech has been detected, no need to notify again since onReadyForSpeech already did
         }
 
         @Override
-        public void onRmsChanged(float rmsdB) {}
+        public void onRmsChanged(float rmsdB) {
+            callbackTrace.onRmsChanged(rmsdB);
+            if (!this.profile.volumeLevel || !volumeLevelMeter.update(rmsdB, SystemClock.uptimeMillis())) {
+                return;
+            }
+            JSObject ret = new JSObject();
+            ret.put("level", volumeLevelMeter.getLevel());
+            ret.put("peak", volumeLevelMeter.getPeak());
+            notifyListeners(VOLUME_LEVEL_EVENT, ret);
+        }
 
         @Override
-        public void onBufferReceived(byte[] buffer) {}
+        public void onBufferReceived(byte[] buffer) {
+            callbackTrace.onBufferReceived(buffer);
+            if (this.profile.captureAudio) {
+                audioCaptureBuffer.write(buffer);
+            }
+        }
 
         @Override
         public void onEndOfSpeech() {
-            this.isListening = false;
+            callbackTrace.onEndOfSpeech();
+            this.endOfSpeechNanos = SystemClock.elapsedRealtimeNanos();
+            latencyMetrics.onEndOfSpeech();
+
+            // Get the next session ready before this one delivers its result
+            if (this.profile.gapless) {
+                SpeechRecognition.this.armNextSession(this);
+            }
             
             // If continuous mode is enabled and no silence timeout, don't stop listening
-            if (this.continuous && this.silenceTimeout == null) {
+            if (this.profile.continuous && this.profile.silenceTimeout == null) {
                 return;
             }
             
             // Only stop if we're actually listening
-            if (!SpeechRecognition.this.listening) {
+            if (!sessionState.isActive()) {
                 return;
             }
             
-            // If silence timeout is set and speech has been detected, schedule a stop after the timeout
-            if (this.silenceTimeout != null && this.lastSpeechTime > 0) {
-                long silenceDuration = this.silenceTimeout;
-                Runnable silenceTask = () -> {
-                    // Only stop if we're still not listening after the timeout
-                    if (!this.isListening && SpeechRecognition.this.listening) {
-                        try {
-                            SpeechRecognition.this.lock.lock();
-                            SpeechRecognition.this.listening(false);
-
-                            JSObject ret = new JSObject();
-                            ret.put("status", "stopped");
-                            SpeechRecognition.this.notifyListeners(LISTENING_EVENT, ret);
-                        } finally {
-                            SpeechRecognition.this.lock.unlock();
-                        }
-                    }
-                    // Clear the pending task reference
-                    SpeechRecognition.this.pendingSilenceTimeoutTask = null;
-                };
-                
-                // Store the task so it can be cancelled if user calls stop()
-                SpeechRecognition.this.pendingSilenceTimeoutTask = silenceTask;
-                bridge.getWebView().postDelayed(silenceTask, silenceDuration);
+            // If silence timeout is set and speech has been detected, stop after the timeout
+            // unless speech begins again, which cancels the deadline
+            if (this.profile.silenceTimeout != null && this.lastSpeechTime > 0) {
+                silenceDeadline.arm(this.profile.silenceTimeout);
                 return;
             }
             
@@ -359,77 +902,103 @@ public class SpeechRecognition extends Plugin implements Constants {
             bridge
                 .getWebView()
                 .post(() -> {
-                    try {
-                        SpeechRecognition.this.lock.lock();
-                        SpeechRecognition.this.listening(false);
+                    sessionState.transition(SessionStateMachine.ACTIVE, State.IDLE);
 
-                        JSObject ret = new JSObject();
-                        ret.put("status", "stopped");
-                        SpeechRecognition.this.notifyListeners(LISTENING_EVENT, ret);
-                    } finally {
-                        SpeechRecognition.this.lock.unlock();
-                    }
+                    JSObject ret = new JSObject();
+                    ret.put("status", "stopped");
+                    SpeechRecognition.this.notifyListeners(LISTENING_EVENT, ret);
                 });
         }
 
         @Override
         public void onError(int error) {
+            callbackTrace.onError(error);
+            latencyMetrics.onSessionEnded();
+            commandSpotter.reset();
+
             // If we're intentionally stopping, don't treat this as an error
-            if (SpeechRecognition.this.isStoppingIntentionally) {
+            if (sessionState.transition(State.STOPPING, State.IDLE)) {
+                return;
+            }
+
+            // A silence the gate waits out is not an engine session worth reporting
+            boolean gatedRestart =
+                this.profile.continuous &&
+                this.profile.voiceActivityGate &&
+                isRestartable(error) &&
+                error != SpeechRecognizer.ERROR_RECOGNIZER_BUSY;
+            if (!gatedRestart) {
+                SpeechRecognition.this.notifyEngineSession(0);
+            }
+
+            // In auto engine mode, try the other engine before giving up or restarting
+            if (SpeechRecognition.this.fallBackEngine(this, error)) {
+                this.endOfSpeechNanos = 0;
                 return;
             }
             
-            String errorMssg = getErrorText(error);
+            String errorMssg = RecognitionErrors.text(error);
             Logger.error(getLogTag(), "Speech recognition error: " + errorMssg + " (code: " + error + ")", null);
 
-            // In continuous mode, restart listening after "No match" and "Speech timeout" errors
-            if (this.continuous && (error == SpeechRecognizer.ERROR_NO_MATCH || error == SpeechRecognizer.ERROR_SPEECH_TIMEOUT)) {
+            // In continuous mode, restart listening after "No match", "Speech timeout" and "busy" errors
+            long restartDelay = this.profile.continuous && isRestartable(error) ? restartScheduler.nextRestartDelayMs(error, this.profile.gapless) : -1;
+            if (restartDelay >= 0) {
                 // For "No match" or "Speech timeout" in continuous mode, restart listening
-                Logger.info(getLogTag(), "Continuous mode: restarting after " + errorMssg);
+                Logger.info(getLogTag(), "Continuous mode: restarting in " + restartDelay + "ms after " + errorMssg);
                 
                 // Notify listeners about the error but don't stop
                 JSObject errorData = new JSObject();
                 errorData.put("error", errorMssg);
                 errorData.put("errorCode", error);
                 SpeechRecognition.this.notifyListeners(ERROR_EVENT, errorData);
+
+                // Silence: keep the recognizer off until the gate hears speech again
+                if (this.profile.voiceActivityGate && error != SpeechRecognizer.ERROR_RECOGNIZER_BUSY) {
+                    restartTelemetry.onGatedRestart(RestartTelemetry.causeOf(error));
+                    SpeechRecognition.this.gateUntilSpeech(this);
+                    this.endOfSpeechNanos = 0;
+                    return;
+                }
+
+                restartTelemetry.onRestart(RestartTelemetry.causeOf(error), sessionEndNanos());
+                if (this.profile.gapless) {
+                    SpeechRecognition.this.handOffSession(this, sessionEndNanos(), restartDelay);
+                    this.endOfSpeechNanos = 0;
+                    return;
+                }
                 
-                // Restart listening after a short delay (suppress restart events)
-                bridge.getWebView().postDelayed(() -> {
-                    if (SpeechRecognition.this.listening) {
+                // Restart listening once the scheduler allows it (suppress restart events)
+                SpeechRecognition.this.pendingRestartTask = () -> {
+                    SpeechRecognition.this.pendingRestartTask = null;
+                    // Entering RESTARTING suppresses the "started" event of the new session
+                    if (sessionState.transition(SessionStateMachine.ACTIVE, State.RESTARTING)) {
                         try {
-                            // Set flag to suppress restart events
-                            SpeechRecognition.this.isRestarting = true;
-                            
-                            // Reset the speech recognizer and restart
-                            if (speechRecognizer != null) {
-                                speechRecognizer.destroy();
+                            // Swap in the pre-bound standby recognizer and restart
+                            recognizerPool.release(speechRecognizer);
+                            speechRecognizer = null;
+                            RecognizerPool.Acquired acquired = acquireRecognizer();
+                            if (acquired == null) {
+                                throw new IllegalStateException("Failed to create speech recognizer");
                             }
-                            speechRecognizer = SpeechRecognizer.createSpeechRecognizer(bridge.getActivity());
+                            speechRecognizer = acquired.recognizer;
                             speechRecognizer.setRecognitionListener(this);
                             
-                            // Create intent with the same parameters as the original
-                            Intent intent = new Intent(RecognizerIntent.ACTION_RECOGNIZE_SPEECH);
-                            intent.putExtra(RecognizerIntent.EXTRA_LANGUAGE_MODEL, RecognizerIntent.LANGUAGE_MODEL_FREE_FORM);
-                            intent.putExtra(RecognizerIntent.EXTRA_PARTIAL_RESULTS, this.partialResults);
-                            
-                            speechRecognizer.startListening(intent);
-                            
-                            // Clear the restart flag after a short delay
-                            bridge.getWebView().postDelayed(() -> {
-                                SpeechRecognition.this.isRestarting = false;
-                            }, 200);
-                            
+                            // Same frozen intent as the first session, it returns to LISTENING once ready
+                            startRecognizer(this.profile.intentFor(onDevice), acquired.warm);
                         } catch (Exception ex) {
-                            SpeechRecognition.this.isRestarting = false;
+                            sessionState.transition(State.RESTARTING, State.LISTENING);
+                            restartTelemetry.onRestartFailed();
                             Logger.error(getLogTag(), "Failed to restart listening: " + ex.getMessage(), null);
                         }
                     }
-                }, 100); // 100ms delay before restart
+                };
+                bridge.getWebView().postDelayed(SpeechRecognition.this.pendingRestartTask, restartDelay);
                 
                 return;
             }
             
             // For other errors or non-continuous mode, stop listening
+            sessionState.force(State.IDLE);
             SpeechRecognition.this.stopListening();
 
             // Notify listeners about the error
@@ -450,85 +1019,131 @@ public class SpeechRecognition extends Plugin implements Constants {
 
         @Override
         public void onResults(Bundle results) {
+            callbackTrace.onResults(results);
             ArrayList<String> matches = results.getStringArrayList(SpeechRecognizer.RESULTS_RECOGNITION);
+            SpeechRecognition.this.notifyEngineSession(this.endOfSpeechNanos);
+            latencyMetrics.onResults();
 
-            try {
-                JSArray jsArray = new JSArray(matches);
+            // The final result supersedes any partial still held back by the throttle
+            partialResultsThrottle.discardPending();
+
+            // Low-confidence alternatives are dropped before anything is serialized
+            ScoredMatches scored = ScoredMatches.of(matches, results.getFloatArray(SpeechRecognizer.CONFIDENCE_SCORES), this.profile.minConfidence);
 
+            if (!scored.matches.isEmpty()) {
+                commandSpotter.spot(scored.matches.get(0), true, commandSink);
+            }
+            commandSpotter.reset();
+
+            if (this.profile.transcript && !scored.matches.isEmpty()) {
+                long offsetMs = (SystemClock.elapsedRealtimeNanos() - SpeechRecognition.this.listeningSinceNanos) / 1000000;
+                transcriptStore.append(scored.matches.get(0), System.currentTimeMillis(), offsetMs);
+            }
+
+            JSObject payload = scored.putInto(new JSObject());
+            FuzzyVocabulary vocabulary = SpeechRecognition.this.vocabulary;
+            if (vocabulary != null) {
+                payload.put("vocabularyMatches", vocabulary.match(scored.matches));
+            }
+
+            try {
                 if (this.call != null) {
-                    if (!this.partialResults) {
+                    if (!this.profile.partialResults) {
                         // For non-partial results, resolve the call
-                        this.call.resolve(new JSObject().put("status", "success").put("matches", jsArray));
+                        this.call.resolve(payload.put("status", "success"));
                         
                         // If not in continuous mode, stop listening
-                        if (!this.continuous) {
+                        if (!this.profile.continuous) {
+                            sessionState.force(State.IDLE);
                             SpeechRecognition.this.stopListening();
                         }
                     } else {
                         // For partial results, just notify listeners
-                        JSObject ret = new JSObject();
-                        ret.put("matches", jsArray);
-                        notifyListeners("partialResults", ret);
+                        notifyListeners("partialResults", payload);
                     }
                 }
             } catch (Exception ex) {
                 this.call.resolve(new JSObject().put("status", "error").put("message", ex.getMessage()));
             }
+
+            // A result requested by stop() completes the stop
+            sessionState.transition(State.STOPPING, State.IDLE);
+
+            // In gapless mode a final result ends the session, start the next one right away
+            if (this.profile.gapless) {
+                // A stopped session is not a restart, don't count it against the scheduler's cap
+                if (sessionState.isActive()) {
+                    long restartDelay = restartScheduler.nextRestartDelayMs(0, true);
+                    restartTelemetry.onRestart(RestartTelemetry.RESULT, sessionEndNanos());
+                    SpeechRecognition.this.handOffSession(this, sessionEndNanos(), Math.max(0, restartDelay));
+                }
+                this.endOfSpeechNanos = 0;
+            } else if (this.profile.voiceActivityGate) {
+                if (sessionState.isActive()) {
+                    restartTelemetry.onGatedRestart(RestartTelemetry.RESULT);
+                }
+                SpeechRecognition.this.gateUntilSpeech(this);
+                this.endOfSpeechNanos = 0;
+            }
         }
 
         @Override
         public void onPartialResults(Bundle partialResults) {
+            callbackTrace.onPartialResults(partialResults);
             ArrayList<String> matches = partialResults.getStringArrayList(SpeechRecognizer.RESULTS_RECOGNITION);
-            JSArray matchesJSON = new JSArray(matches);
 
-            try {
-                if (matches != null && matches.size() > 0 && !previousPartialResults.equals(matchesJSON)) {
-                    previousPartialResults = matchesJSON;
-                    JSObject ret = new JSObject();
-                    ret.put("matches", previousPartialResults);
-                    notifyListeners("partialResults", ret);
+            // Identical partials are dropped before any JSON is built
+            if (!partialResultsFilter.accept(matches)) {
+                return;
+            }
+            latencyMetrics.onPartial();
+
+            // Commands are spotted on every partial, before the throttle
+            if (matches != null && !matches.isEmpty()) {
+                commandSpotter.spot(matches.get(0), false, commandSink);
+            }
+
+            if (this.profile.forwardPartialResults) {
+                partialResultsThrottle.submit(matches, partialResultsSink);
+            }
+        }
+
+        private void emitCommand(String command, int index, boolean isFinal) {
+            JSObject ret = new JSObject();
+            ret.put("command", command);
+            ret.put("index", index);
+            ret.put("final", isFinal);
+            notifyListeners(COMMAND_EVENT, ret);
+        }
+
+        private void emitPartialResults(List<String> matches) {
+            // Only send what changed since the last partial
+            if (this.profile.partialResultsDelta) {
+                JSObject delta = partialResultsDeltaEncoder.encode(matches);
+                if (delta != null) {
+                    notifyListeners(PARTIAL_RESULTS_DELTA_EVENT, delta);
                 }
+                return;
+            }
+
+            try {
+                JSObject ret = new JSObject();
+                ret.put("matches", new JSArray(matches));
+                notifyListeners("partialResults", ret);
             } catch (Exception ex) {}
         }
 
         @Override
-        public void onEvent(int eventType, Bundle params) {}
-    }
-
-    private String getErrorText(int errorCode) {
-        String message;
-        switch (errorCode) {
-            case SpeechRecognizer.ERROR_AUDIO:
-                message = "Audio recording error";
-                break;
-            case SpeechRecognizer.ERROR_CLIENT:
-                message = "Client side error";
-                break;
-            case SpeechRecognizer.ERROR_INSUFFICIENT_PERMISSIONS:
-                message = "Insufficient permissions";
-                break;
-            case SpeechRecognizer.ERROR_NETWORK:
-                message = "Network error";
-                break;
-            case SpeechRecognizer.ERROR_NETWORK_TIMEOUT:
-                message = "Network timeout";
-                break;
-            case SpeechRecognizer.ERROR_NO_MATCH:
-                message = "No match";
-                break;
-            case SpeechRecognizer.ERROR_RECOGNIZER_BUSY:
-                message = "RecognitionService busy";
-                break;
-            case SpeechRecognizer.ERROR_SERVER:
-                message = "error from server";
-                break;
-            case SpeechRecognizer.ERROR_SPEECH_TIMEOUT:
-                message = "No speech input";
-                break;
-            default:
-                message = "Didn't understand, please try again.";
-                break;
-        }
-        return message;
+        public void onEvent(int eventType, Bundle params) {
+            callbackTrace.onEvent(eventType);
+        }
+    }
+
+    private static boolean isRestartable(int error) {
+        return (
+            error == SpeechRecognizer.ERROR_NO_MATCH ||
+            error == SpeechRecognizer.ERROR_SPEECH_TIMEOUT ||
+            error == SpeechRecognizer.ERROR_RECOGNIZER_BUSY
+        );
     }
 }
@@ -0,0 +1,173 @@
+package com.getcapacitor.community.speechrecognition;
+
+import android.app.Activity;
+import android.content.Context;
+import android.content.Intent;
+import android.content.SharedPreferences;
+import android.content.pm.PackageManager;
+import android.os.Build;
+import android.speech.RecognizerIntent;
+import com.getcapacitor.JSArray;
+import com.getcapacitor.JSObject;
+import com.getcapacitor.Logger;
+import com.getcapacitor.PluginCall;
+import java.util.ArrayList;
+import java.util.List;
+import org.json.JSONArray;
+import org.json.JSONException;
+
+/**
+ * Supported languages of the recognition service, cached in memory and on disk.
+ *
+ * The list is persisted with the time it was fetched and the last update time
+ * of the Google app that reported it; it is fetched again when it is older than
+ * the TTL or when that app has been updated. Calls arriving while a language
+ * details broadcast is in flight wait for the same broadcast.
+ */
+public class SupportedLanguages implements Constants, Receiver.Listener {
+
+    public static final String TAG = "SupportedLanguages";
+
+    static final String GOOGLE_PACKAGE = "com.google.android.googlequicksearchbox";
+    static final String PREFERENCES = "speechRecognitionLanguages";
+    static final String KEY_LANGUAGES = "languages";
+    static final String KEY_PREFERENCE = "preference";
+    static final String KEY_FETCHED_AT = "fetchedAt";
+    static final String KEY_SOURCE_VERSION = "sourceVersion";
+    static final long TTL_MS = 24 * 60 * 60 * 1000L;
+
+    private final Context context;
+    private final List<PluginCall> pendingCalls = new ArrayList<>();
+    private List<String> languages;
+    private String languagePreference;
+    private long fetchedAt = 0;
+    private long sourceVersion = 0;
+    private boolean inFlight = false;
+
+    public SupportedLanguages(Context context) {
+        this.context = context;
+    }
+
+    /**
+     * Loads the persisted list, and starts a broadcast if it is missing or stale.
+     */
+    public synchronized void prefetch() {
+        load();
+        if (!isFresh()) {
+            request();
+        }
+    }
+
+    public synchronized void get(PluginCall call) {
+        if (languages == null) {
+            load();
+        }
+        if (isFresh()) {
+            call.resolve(new JSObject().put("languages", new JSArray(languages)));
+            return;
+        }
+        pendingCalls.add(call);
+        request();
+    }
+
+    /**
+     * Drops the cached list, called when the Google app is updated or removed.
+     */
+    public synchronized void invalidate() {
+        languages = null;
+        fetchedAt = 0;
+        preferences().edit().clear().apply();
+    }
+
+    @Override
+    public synchronized void onLanguageDetails(List<String> supportedLanguages, String languagePreference) {
+        inFlight = false;
+
+        if (supportedLanguages == null) {
+            for (PluginCall call : pendingCalls) {
+                call.reject(ERROR);
+            }
+            pendingCalls.clear();
+            return;
+        }
+
+        this.languages = new ArrayList<>(supportedLanguages);
+        this.languagePreference = languagePreference;
+        this.fetchedAt = System.currentTimeMillis();
+        this.sourceVersion = currentSourceVersion();
+        save();
+
+        for (PluginCall call : pendingCalls) {
+            call.resolve(new JSObject().put("languages", new JSArray(languages)));
+        }
+        pendingCalls.clear();
+    }
+
+    private void request() {
+        if (inFlight) {
+            return;
+        }
+        inFlight = true;
+
+        Intent detailsIntent = new Intent(RecognizerIntent.ACTION_GET_LANGUAGE_DETAILS);
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            detailsIntent.setPackage(GOOGLE_PACKAGE);
+        }
+        context.sendOrderedBroadcast(detailsIntent, null, new Receiver(this), null, Activity.RESULT_OK, null, null);
+    }
+
+    private boolean isFresh() {
+        return (
+            languages != null &&
+            System.currentTimeMillis() - fetchedAt < TTL_MS &&
+            sourceVersion == currentSourceVersion()
+        );
+    }
+
+    /**
+     * Last update time of the app answering the broadcast, 0 if it is not installed.
+     */
+    private long currentSourceVersion() {
+        try {
+            return context.getPackageManager().getPackageInfo(GOOGLE_PACKAGE, 0).lastUpdateTime;
+        } catch (PackageManager.NameNotFoundException ex) {
+            return 0;
+        }
+    }
+
+    private SharedPreferences preferences() {
+        return context.getSharedPreferences(PREFERENCES, Context.MODE_PRIVATE);
+    }
+
+    private void load() {
+        SharedPreferences preferences = preferences();
+        String json = preferences.getString(KEY_LANGUAGES, null);
+        if (json == null) {
+            return;
+        }
+        try {
+            JSONArray array = new JSONArray(json);
+            List<String> list = new ArrayList<>(array.length());
+            for (int i = 0; i < array.length(); i++) {
+                list.add(array.getString(i));
+            }
+            languages = list;
+            languagePreference = preferences.getString(KEY_PREFERENCE, null);
+            fetchedAt = preferences.getLong(KEY_FETCHED_AT, 0);
+            sourceVersion = preferences.getLong(KEY_SOURCE_VERSION, 0);
+        } catch (JSONException ex) {
+            Logger.error(TAG, "Discarding unreadable language cache: " + ex.getMessage(), null);
+            languages = null;
+        }
+    }
+
+    private void save() {
+        preferences()
+            .edit()
+            .putString(KEY_LANGUAGES, new JSONArray(languages).toString())
+            .putString(KEY_PREFERENCE, languagePreference)
+            .putLong(KEY_FETCHED_AT, fetchedAt)
+            .putLong(KEY_SOURCE_VERSION, sourceVersion)
+            .apply();
+    }
+}
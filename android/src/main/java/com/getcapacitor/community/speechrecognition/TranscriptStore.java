@@ -0,0 +1,119 @@
+package com.getcapacitor.community.speechrecognition;
+
+import com.getcapacitor.JSArray;
+import com.getcapacitor.JSObject;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
+/**
+ * Rolling store of final results for long continuous sessions.
+ *
+ * Segments are kept in chunks that hold their text in a single buffer and
+ * their metadata in primitive arrays, so a long dictation does not turn into
+ * thousands of small objects. When the text grows past the limit the oldest
+ * chunk is dropped. Sequence numbers keep increasing across starts and
+ * clears, so readers can page with the last sequence number they saw.
+ */
+public class TranscriptStore {
+
+    static final int CHUNK_SEGMENTS = 256;
+    static final int MAX_CHARS = 4 * 1024 * 1024;
+    static final int DEFAULT_PAGE = 100;
+    static final int MAX_PAGE = 1000;
+
+    private final ArrayDeque<Chunk> chunks = new ArrayDeque<>();
+    private long nextSeq = 0;
+    private int chars = 0;
+
+    public synchronized void append(String text, long timestamp, long offsetMs) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        Chunk chunk = chunks.peekLast();
+        if (chunk == null || chunk.count == CHUNK_SEGMENTS) {
+            chunk = new Chunk(nextSeq);
+            chunks.addLast(chunk);
+        }
+        chunk.add(text, timestamp, offsetMs);
+        nextSeq++;
+        chars += text.length();
+
+        while (chars > MAX_CHARS && chunks.size() > 1) {
+            chars -= chunks.removeFirst().text.length();
+        }
+    }
+
+    public synchronized void clear() {
+        chunks.clear();
+        chars = 0;
+    }
+
+    /**
+     * Segments with a sequence number above sinceSeq, oldest first. A negative sinceSeq starts at the oldest kept segment.
+     */
+    public synchronized JSObject page(long sinceSeq, int limit) {
+        int max = Math.max(1, Math.min(MAX_PAGE, limit));
+        JSArray segments = new JSArray();
+        long lastSeq = sinceSeq;
+        int added = 0;
+
+        Iterator<Chunk> iterator = chunks.iterator();
+        while (iterator.hasNext() && added < max) {
+            Chunk chunk = iterator.next();
+            if (chunk.firstSeq + chunk.count - 1 <= sinceSeq) {
+                continue;
+            }
+            int from = (int) Math.max(0, sinceSeq + 1 - chunk.firstSeq);
+            for (int i = from; i < chunk.count && added < max; i++) {
+                JSObject segment = new JSObject();
+                segment.put("seq", chunk.firstSeq + i);
+                segment.put("text", chunk.text(i));
+                segment.put("timestamp", chunk.timestamps[i]);
+                segment.put("offsetMs", chunk.offsets[i]);
+                segments.put(segment);
+                lastSeq = chunk.firstSeq + i;
+                added++;
+            }
+        }
+
+        // Kept segments run up to nextSeq - 1, so there is more only if this page stopped early.
+        // Up-to-date readers, and readers of a cleared store, move on to the newest sequence number.
+        boolean hasMore = added > 0 && lastSeq < nextSeq - 1;
+        if (added == 0) {
+            lastSeq = Math.max(sinceSeq, nextSeq - 1);
+        }
+
+        JSObject ret = new JSObject();
+        ret.put("segments", segments);
+        ret.put("firstSeq", chunks.isEmpty() ? nextSeq : chunks.peekFirst().firstSeq);
+        ret.put("lastSeq", lastSeq);
+        ret.put("hasMore", hasMore);
+        return ret;
+    }
+
+    private static class Chunk {
+
+        final long firstSeq;
+        final StringBuilder text = new StringBuilder();
+        final int[] ends = new int[CHUNK_SEGMENTS];
+        final long[] timestamps = new long[CHUNK_SEGMENTS];
+        final long[] offsets = new long[CHUNK_SEGMENTS];
+        int count = 0;
+
+        Chunk(long firstSeq) {
+            this.firstSeq = firstSeq;
+        }
+
+        void add(String segment, long timestamp, long offsetMs) {
+            text.append(segment);
+            ends[count] = text.length();
+            timestamps[count] = timestamp;
+            offsets[count] = offsetMs;
+            count++;
+        }
+
+        String text(int i) {
+            return text.substring(i == 0 ? 0 : ends[i - 1], ends[i]);
+        }
+    }
+}
@@ -0,0 +1,351 @@
+package com.getcapacitor.community.speechrecognition;
+
+import android.annotation.SuppressLint;
+import android.media.AudioFormat;
+import android.media.AudioRecord;
+import android.media.MediaRecorder;
+import android.os.Handler;
+import android.os.ParcelFileDescriptor;
+import android.os.SystemClock;
+import com.getcapacitor.JSObject;
+import com.getcapacitor.Logger;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Low-power voice activity detector that keeps the SpeechRecognizer off during silence.
+ *
+ * Audio is read from AudioRecord in 20 ms frames. A frame counts as speech when
+ * its energy is well above the tracked noise floor and its zero-crossing rate
+ * is in the range of voiced or fricative sounds. Speech is reported after a few
+ * consecutive speech frames; frames between the lower and upper energy
+ * thresholds neither confirm nor reset the detection.
+ *
+ * The last 300 ms are kept as pre-roll. When the recognizer can read from an
+ * audio stream (API 33+), {@link #openStream()} hands it the pre-roll followed
+ * by live audio so the first syllable is not lost. Frames read between the
+ * trigger and openStream() are held with the pre-roll, so the stream has no gap.
+ */
+public class VoiceActivityGate {
+
+    public static final String TAG = "VoiceActivityGate";
+
+    public interface Listener {
+        void onSpeechLikely();
+    }
+
+    static final int SAMPLE_RATE = 16000;
+    static final int FRAME_SAMPLES = SAMPLE_RATE / 50;
+    static final int PRE_ROLL_SAMPLES = SAMPLE_RATE * 3 / 10;
+    // Room for the pre-roll and the frames read while the recognizer is being started
+    static final int HOLD_SAMPLES = SAMPLE_RATE * 2;
+    static final double ON_THRESHOLD_DB = 9;
+    static final double OFF_THRESHOLD_DB = 4;
+    static final double MIN_SPEECH_DB = 35;
+    static final double MIN_ZERO_CROSSING_RATE = 0.02;
+    static final double MAX_ZERO_CROSSING_RATE = 0.35;
+    static final int SPEECH_FRAMES = 3;
+    static final double NOISE_FLOOR_SMOOTHING = 0.05;
+
+    private final Handler handler;
+    private final short[] frame = new short[FRAME_SAMPLES];
+    private final short[] preRoll = new short[HOLD_SAMPLES];
+    private int preRollPosition = 0;
+    private int preRollFilled = 0;
+    private int samplesSinceTrigger = 0;
+
+    private AudioRecord audioRecord;
+    private Thread thread;
+    private volatile boolean detecting = false;
+    private volatile boolean streaming = false;
+    private volatile boolean triggered = false;
+    private ParcelFileDescriptor streamReadSide;
+    private ParcelFileDescriptor streamWriteSide;
+
+    private double noiseFloorDb = -1;
+    private int speechFrames = 0;
+
+    private long sessionSince = 0;
+    private long sessionMs = 0;
+    private long detectingSince = 0;
+    private long gatedMs = 0;
+    private long triggers = 0;
+
+    public VoiceActivityGate(Handler handler) {
+        this.handler = handler;
+    }
+
+    /**
+     * Starts listening for speech, the listener is called once on the handler thread.
+     * RECORD_AUDIO must have been granted.
+     */
+    @SuppressLint("MissingPermission")
+    public synchronized boolean start(final Listener listener) {
+        stop();
+
+        int minBuffer = AudioRecord.getMinBufferSize(SAMPLE_RATE, AudioFormat.CHANNEL_IN_MONO, AudioFormat.ENCODING_PCM_16BIT);
+        try {
+            audioRecord = new AudioRecord(
+                MediaRecorder.AudioSource.VOICE_RECOGNITION,
+                SAMPLE_RATE,
+                AudioFormat.CHANNEL_IN_MONO,
+                AudioFormat.ENCODING_PCM_16BIT,
+                Math.max(minBuffer, FRAME_SAMPLES * 2 * 4)
+            );
+            if (audioRecord.getState() != AudioRecord.STATE_INITIALIZED) {
+                releaseRecord();
+                return false;
+            }
+            audioRecord.startRecording();
+        } catch (Exception ex) {
+            Logger.error(TAG, "Could not start voice activity detection: " + ex.getMessage(), null);
+            releaseRecord();
+            return false;
+        }
+
+        speechFrames = 0;
+        preRollFilled = 0;
+        samplesSinceTrigger = 0;
+        triggered = false;
+        detecting = true;
+        detectingSince = SystemClock.elapsedRealtime();
+        final AudioRecord record = audioRecord;
+        thread = new Thread(() -> detect(record, listener), TAG);
+        thread.start();
+        return true;
+    }
+
+    /**
+     * Stops detection and any stream handed to the recognizer, and releases the microphone.
+     */
+    public synchronized void stop() {
+        endDetecting();
+        streaming = false;
+        closeQuietly(streamWriteSide);
+        closeQuietly(streamReadSide);
+        streamWriteSide = null;
+        streamReadSide = null;
+        if (thread == null) {
+            releaseRecord();
+            return;
+        }
+        // stop() makes a blocked read() return; the detect thread releases the record once it left read()
+        try {
+            audioRecord.stop();
+        } catch (Exception ignored) {}
+        thread.interrupt();
+        thread = null;
+        audioRecord = null;
+    }
+
+    /**
+     * Marks the start of a continuous session the gate may be used in, the duty cycle is measured over these sessions.
+     */
+    public synchronized void beginSession() {
+        endSession();
+        sessionSince = SystemClock.elapsedRealtime();
+    }
+
+    public synchronized void endSession() {
+        if (sessionSince != 0) {
+            sessionMs += SystemClock.elapsedRealtime() - sessionSince;
+            sessionSince = 0;
+        }
+    }
+
+    public synchronized boolean isRunning() {
+        return audioRecord != null;
+    }
+
+    /**
+     * Switches from detection to streaming: returns the read side of a pipe that starts with
+     * the pre-roll and continues with live audio until {@link #stop()} is called.
+     * Returns null if the gate is not running. The descriptor stays owned by the gate.
+     */
+    public synchronized ParcelFileDescriptor openStream() {
+        if (audioRecord == null) {
+            return null;
+        }
+        try {
+            ParcelFileDescriptor[] pipe = ParcelFileDescriptor.createPipe();
+            streamReadSide = pipe[0];
+            streamWriteSide = pipe[1];
+            streaming = true;
+            return pipe[0];
+        } catch (IOException ex) {
+            Logger.error(TAG, "Could not open audio stream: " + ex.getMessage(), null);
+            return null;
+        }
+    }
+
+    public synchronized JSObject getMetrics() {
+        long now = SystemClock.elapsedRealtime();
+        long gated = gatedMs + (detecting ? now - detectingSince : 0);
+        long session = sessionMs + (sessionSince != 0 ? now - sessionSince : 0);
+
+        JSObject ret = new JSObject();
+        ret.put("gatedMs", gated);
+        ret.put("sessionMs", session);
+        ret.put("triggers", triggers);
+        ret.put("recognizerDutyCycle", session > 0 ? Math.max(0, 1 - (double) gated / session) : 1);
+        ret.put("noiseFloorDb", noiseFloorDb);
+        return ret;
+    }
+
+    private void detect(AudioRecord record, Listener listener) {
+        OutputStream stream = null;
+        byte[] bytes = new byte[FRAME_SAMPLES * 2];
+        ByteBuffer byteView = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                int read = record.read(frame, 0, FRAME_SAMPLES);
+                if (read <= 0) {
+                    break;
+                }
+
+                if (streaming) {
+                    try {
+                        if (stream == null) {
+                            ParcelFileDescriptor writeSide = getStreamWriteSide();
+                            if (writeSide == null) {
+                                break;
+                            }
+                            stream = new ParcelFileDescriptor.AutoCloseOutputStream(writeSide);
+                            writePreRoll(stream, bytes, byteView);
+                        }
+                        byteView.clear();
+                        byteView.asShortBuffer().put(frame, 0, read);
+                        stream.write(bytes, 0, read * 2);
+                    } catch (IOException ex) {
+                        // The recognizer closed its end, the session is over
+                        break;
+                    }
+                    continue;
+                }
+
+                if (!detecting) {
+                    // Triggered, waiting for openStream(): hold the frames so the stream continues without a gap
+                    if (triggered) {
+                        appendPreRoll(read);
+                        samplesSinceTrigger += read;
+                    }
+                    continue;
+                }
+
+                appendPreRoll(read);
+                if (isSpeech(read) && trigger()) {
+                    handler.post(listener::onSpeechLikely);
+                }
+            }
+        } finally {
+            // Released here rather than in stop(), read() may still be running when stop() returns
+            record.release();
+        }
+    }
+
+    /**
+     * Classifies one frame and updates the noise floor from non-speech frames.
+     */
+    private boolean isSpeech(int samples) {
+        double sum = 0;
+        int crossings = 0;
+        for (int i = 0; i < samples; i++) {
+            sum += (double) frame[i] * frame[i];
+            if (i > 0 && (frame[i] >= 0) != (frame[i - 1] >= 0)) {
+                crossings++;
+            }
+        }
+        double energyDb = 10 * Math.log10(sum / samples + 1);
+        double zeroCrossingRate = (double) crossings / samples;
+
+        if (noiseFloorDb < 0) {
+            noiseFloorDb = energyDb;
+        }
+
+        boolean loud = energyDb > Math.max(MIN_SPEECH_DB, noiseFloorDb + ON_THRESHOLD_DB);
+        boolean quiet = energyDb < noiseFloorDb + OFF_THRESHOLD_DB;
+        boolean voiceLike = zeroCrossingRate >= MIN_ZERO_CROSSING_RATE && zeroCrossingRate <= MAX_ZERO_CROSSING_RATE;
+
+        if (loud && voiceLike) {
+            speechFrames++;
+        } else if (quiet) {
+            speechFrames = 0;
+            noiseFloorDb += NOISE_FLOOR_SMOOTHING * (energyDb - noiseFloorDb);
+        }
+        return speechFrames >= SPEECH_FRAMES;
+    }
+
+    private void appendPreRoll(int samples) {
+        for (int i = 0; i < samples; i++) {
+            preRoll[preRollPosition] = frame[i];
+            preRollPosition = (preRollPosition + 1) % HOLD_SAMPLES;
+        }
+        preRollFilled = Math.min(HOLD_SAMPLES, preRollFilled + samples);
+    }
+
+    /**
+     * Writes the 300 ms before the trigger and every frame held since.
+     */
+    private void writePreRoll(OutputStream stream, byte[] bytes, ByteBuffer byteView) throws IOException {
+        int held = Math.min(preRollFilled, PRE_ROLL_SAMPLES + samplesSinceTrigger);
+        int start = (preRollPosition - held + HOLD_SAMPLES) % HOLD_SAMPLES;
+        int remaining = held;
+        while (remaining > 0) {
+            int chunk = Math.min(remaining, FRAME_SAMPLES);
+            byteView.clear();
+            for (int i = 0; i < chunk; i++) {
+                byteView.putShort(preRoll[(start + i) % HOLD_SAMPLES]);
+            }
+            stream.write(bytes, 0, chunk * 2);
+            start = (start + chunk) % HOLD_SAMPLES;
+            remaining -= chunk;
+        }
+    }
+
+    private synchronized ParcelFileDescriptor getStreamWriteSide() {
+        return streamWriteSide;
+    }
+
+    /**
+     * Returns false if detection was stopped in the meantime.
+     */
+    private synchronized boolean trigger() {
+        if (!detecting) {
+            return false;
+        }
+        endDetecting();
+        triggered = true;
+        triggers++;
+        return true;
+    }
+
+    private synchronized void endDetecting() {
+        if (detecting) {
+            detecting = false;
+            gatedMs += SystemClock.elapsedRealtime() - detectingSince;
+        }
+    }
+
+    private void releaseRecord() {
+        if (audioRecord == null) {
+            return;
+        }
+        try {
+            audioRecord.stop();
+        } catch (Exception ignored) {}
+        audioRecord.release();
+        audioRecord = null;
+    }
+
+    private static void closeQuietly(ParcelFileDescriptor descriptor) {
+        if (descriptor == null) {
+            return;
+        }
+        try {
+            descriptor.close();
+        } catch (IOException ignored) {}
+    }
+}
@@ -0,0 +1,67 @@
+package com.getcapacitor.community.speechrecognition;
+
+/**
+ * Turns onRmsChanged callbacks into a level meter signal.
+ *
+ * The raw dB value is normalised to 0..1 and smoothed, the peak is held for a
+ * short time before it decays, and samples are decimated to the configured
+ * output rate so only a few events per second cross the bridge.
+ */
+public class VolumeLevelMeter {
+
+    static final float MIN_DB = -2f;
+    static final float MAX_DB = 10f;
+    static final float SMOOTHING = 0.3f;
+    static final long PEAK_HOLD_MS = 500;
+    static final float PEAK_DECAY_PER_SECOND = 1.5f;
+    static final int DEFAULT_RATE_HZ = 15;
+
+    private long intervalMs = 1000 / DEFAULT_RATE_HZ;
+    private long lastEmitAt = 0;
+    private float level = 0;
+    private float peak = 0;
+    private long peakAt = 0;
+    private long lastUpdateAt = 0;
+
+    public void setRateHz(int rateHz) {
+        this.intervalMs = rateHz > 0 ? 1000 / Math.min(rateHz, 1000) : 1000 / DEFAULT_RATE_HZ;
+    }
+
+    public void reset() {
+        lastEmitAt = 0;
+        level = 0;
+        peak = 0;
+        peakAt = 0;
+        lastUpdateAt = 0;
+    }
+
+    /**
+     * Feeds one rms sample, returns true when a decimated value is due to be emitted.
+     */
+    public boolean update(float rmsdB, long nowMs) {
+        float normalized = Math.max(0f, Math.min(1f, (rmsdB - MIN_DB) / (MAX_DB - MIN_DB)));
+        level += SMOOTHING * (normalized - level);
+
+        if (level >= peak) {
+            peak = level;
+            peakAt = nowMs;
+        } else if (nowMs - peakAt > PEAK_HOLD_MS && lastUpdateAt > 0) {
+            peak = Math.max(level, peak - PEAK_DECAY_PER_SECOND * (nowMs - lastUpdateAt) / 1000f);
+        }
+        lastUpdateAt = nowMs;
+
+        if (nowMs - lastEmitAt < intervalMs) {
+            return false;
+        }
+        lastEmitAt = nowMs;
+        return true;
+    }
+
+    public float getLevel() {
+        return level;
+    }
+
+    public float getPeak() {
+        return peak;
+    }
+}
@@ -0,0 +1,148 @@
+package com.getcapacitor.community.speechrecognition;
+
+import android.os.Looper;
+import android.speech.SpeechRecognizer;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.LooperMode;
+
+import java.time.Duration;
+
+import static org.junit.Assert.*;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * The scheduler reads SystemClock, which the paused looper advances in {@link #advance(long)}.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+@LooperMode(LooperMode.Mode.PAUSED)
+public class AdaptiveRestartSchedulerTest {
+
+    private AdaptiveRestartScheduler scheduler;
+
+    @Before
+    public void setUp() {
+        scheduler = new AdaptiveRestartScheduler();
+    }
+
+    @Test
+    public void testResultHandOffs_ShouldNeverBeCapped() {
+        // Act - five minutes of dictation, one result every 1.2 s
+        for (int i = 0; i < 250; i++) {
+            scheduler.onReady(50);
+            advance(300);
+            scheduler.onSpeech();
+            advance(900);
+            long delay = scheduler.nextRestartDelayMs(0, true);
+
+            // Assert
+            assertEquals("Hand-off " + i + " should not wait", 0, delay);
+        }
+    }
+
+    @Test
+    public void testNoSpeechRestarts_ShouldBeCappedPerWindow() {
+        // Arrange - sessions that run long enough to be healthy but never hear speech
+        for (int i = 0; i < AdaptiveRestartScheduler.MAX_RESTARTS_PER_WINDOW; i++) {
+            scheduler.onReady(200);
+            advance(1500);
+            long delay = scheduler.nextRestartDelayMs(SpeechRecognizer.ERROR_SPEECH_TIMEOUT, false);
+            assertTrue("Restart " + i + " should use the base delay, was " + delay, delay <= AdaptiveRestartScheduler.MAX_BASE_DELAY_MS);
+            advance(delay);
+        }
+
+        // Act - the window is full after about 31 s
+        scheduler.onReady(200);
+        advance(1500);
+        long delay = scheduler.nextRestartDelayMs(SpeechRecognizer.ERROR_SPEECH_TIMEOUT, false);
+
+        // Assert - wait until the oldest restart leaves the 60 s window
+        assertTrue("Should wait for the window, was " + delay, delay > 25000 && delay <= AdaptiveRestartScheduler.RESTART_WINDOW_MS);
+    }
+
+    @Test
+    public void testResults_ShouldNotFillTheWindow() {
+        // Arrange - plenty of results, then sessions without speech
+        for (int i = 0; i < 100; i++) {
+            scheduler.onReady(50);
+            scheduler.onSpeech();
+            advance(1200);
+            scheduler.nextRestartDelayMs(0, true);
+        }
+
+        // Act
+        scheduler.onReady(200);
+        advance(1500);
+        long delay = scheduler.nextRestartDelayMs(SpeechRecognizer.ERROR_NO_MATCH, false);
+
+        // Assert
+        assertTrue("Should use the base delay, was " + delay, delay <= AdaptiveRestartScheduler.MAX_BASE_DELAY_MS);
+    }
+
+    @Test
+    public void testFlappingSessions_ShouldBackOffExponentially() {
+        // Act & Assert - sessions that end before becoming ready double the delay, within the jitter
+        long expected = AdaptiveRestartScheduler.DEFAULT_DELAY_MS;
+        for (int i = 0; i < 5; i++) {
+            long delay = scheduler.nextRestartDelayMs(SpeechRecognizer.ERROR_NO_MATCH, false);
+            assertTrue("Restart " + i + " delay " + delay, delay >= expected * 0.8 - 1 && delay <= expected * 1.2 + 1);
+            advance(delay);
+            expected *= 2;
+        }
+        for (int i = 0; i < 10; i++) {
+            long delay = scheduler.nextRestartDelayMs(SpeechRecognizer.ERROR_NO_MATCH, false);
+            assertTrue("Delay over the maximum: " + delay, delay <= AdaptiveRestartScheduler.MAX_DELAY_MS * 1.2 + 1);
+        }
+    }
+
+    @Test
+    public void testSpeech_ShouldResetBackoff() {
+        // Arrange
+        for (int i = 0; i < 4; i++) {
+            scheduler.nextRestartDelayMs(SpeechRecognizer.ERROR_NO_MATCH, false);
+        }
+
+        // Act - a session that becomes ready in 200 ms and hears speech
+        scheduler.onReady(200);
+        scheduler.onSpeech();
+        advance(2000);
+        long delay = scheduler.nextRestartDelayMs(SpeechRecognizer.ERROR_NO_MATCH, false);
+
+        // Assert - back to a quarter of the time-to-ready
+        assertEquals(50, delay);
+    }
+
+    @Test
+    public void testBaseDelay_ShouldFollowTimeToReady() {
+        // Arrange - a slow service, clamped to the maximum base delay
+        scheduler.onReady(2000);
+        scheduler.onSpeech();
+        advance(3000);
+
+        // Act
+        long delay = scheduler.nextRestartDelayMs(SpeechRecognizer.ERROR_SPEECH_TIMEOUT, false);
+
+        // Assert
+        assertEquals(AdaptiveRestartScheduler.MAX_BASE_DELAY_MS, delay);
+    }
+
+    @Test
+    public void testBusy_ShouldGiveUpAfterMaxRetries() {
+        // Act & Assert
+        for (int i = 0; i < AdaptiveRestartScheduler.MAX_BUSY_RETRIES; i++) {
+            assertTrue(scheduler.nextRestartDelayMs(SpeechRecognizer.ERROR_RECOGNIZER_BUSY, false) >= 0);
+        }
+        assertEquals(-1, scheduler.nextRestartDelayMs(SpeechRecognizer.ERROR_RECOGNIZER_BUSY, false));
+
+        scheduler.reset();
+        assertTrue("reset() should allow new retries", scheduler.nextRestartDelayMs(SpeechRecognizer.ERROR_RECOGNIZER_BUSY, false) >= 0);
+    }
+
+    private static void advance(long ms) {
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(ms));
+    }
+}
@@ -0,0 +1,144 @@
+package com.getcapacitor.community.speechrecognition;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+
+public class AudioCaptureBufferTest {
+
+    private static final int CAPACITY = 8;
+
+    private AudioCaptureBuffer buffer;
+    private File file;
+
+    @Before
+    public void setUp() throws IOException {
+        buffer = new AudioCaptureBuffer(CAPACITY);
+        file = File.createTempFile("capture", ".pcm");
+    }
+
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Test
+    public void testWrite_BelowCapacity_ShouldFlushInOrder() throws IOException {
+        // Act
+        buffer.write(bytes(0, 3));
+        buffer.write(bytes(3, 2));
+
+        // Assert
+        assertEquals(5, buffer.size());
+        assertEquals(5, buffer.totalBytes());
+        assertArrayEquals(bytes(0, 5), flush());
+    }
+
+    @Test
+    public void testWrite_ExactlyCapacity_ShouldKeepEverything() throws IOException {
+        // Act
+        buffer.write(bytes(0, CAPACITY));
+
+        // Assert
+        assertEquals(CAPACITY, buffer.size());
+        assertArrayEquals(bytes(0, CAPACITY), flush());
+    }
+
+    @Test
+    public void testWrite_PastCapacity_ShouldOverwriteTheOldest() throws IOException {
+        // Arrange
+        buffer.write(bytes(0, CAPACITY));
+
+        // Act
+        buffer.write(bytes(CAPACITY, 3));
+
+        // Assert - flushed oldest byte first, starting after the overwritten ones
+        assertEquals(CAPACITY, buffer.size());
+        assertEquals(CAPACITY + 3, buffer.totalBytes());
+        assertArrayEquals(bytes(3, CAPACITY), flush());
+    }
+
+    @Test
+    public void testWrite_AcrossTheEnd_ShouldWrapWithinOneCall() throws IOException {
+        // Arrange
+        buffer.write(bytes(0, 5));
+
+        // Act - three bytes fit before the end, two wrap to the start
+        buffer.write(bytes(5, 5));
+
+        // Assert
+        assertEquals(10, buffer.totalBytes());
+        assertArrayEquals(bytes(2, CAPACITY), flush());
+    }
+
+    @Test
+    public void testWrite_LargerThanCapacity_ShouldKeepTheTail() throws IOException {
+        // Arrange
+        buffer.write(bytes(0, 3));
+
+        // Act
+        buffer.write(bytes(3, 20));
+
+        // Assert
+        assertEquals(CAPACITY, buffer.size());
+        assertEquals(23, buffer.totalBytes());
+        assertArrayEquals(bytes(15, CAPACITY), flush());
+    }
+
+    @Test
+    public void testWrite_NullOrEmpty_ShouldBeIgnored() throws IOException {
+        // Act
+        buffer.write(null);
+        buffer.write(new byte[0]);
+
+        // Assert
+        assertEquals(0, buffer.totalBytes());
+        assertEquals(0, flush().length);
+    }
+
+    @Test
+    public void testClear_ShouldStartOver() throws IOException {
+        // Arrange
+        buffer.write(bytes(0, 11));
+
+        // Act
+        buffer.clear();
+        buffer.write(bytes(20, 2));
+
+        // Assert
+        assertEquals(2, buffer.size());
+        assertArrayEquals(bytes(20, 2), flush());
+    }
+
+    @Test
+    public void testFlushTo_ExistingLongerFile_ShouldTruncate() throws IOException {
+        // Arrange
+        Files.write(file.toPath(), new byte[100]);
+        buffer.write(bytes(0, 4));
+
+        // Act & Assert
+        assertArrayEquals(bytes(0, 4), flush());
+    }
+
+    private byte[] flush() throws IOException {
+        buffer.flushTo(file);
+        return Files.readAllBytes(file.toPath());
+    }
+
+    /**
+     * Consecutive byte values, so overwritten and reordered bytes show up in the comparison.
+     */
+    private static byte[] bytes(int first, int count) {
+        byte[] ret = new byte[count];
+        for (int i = 0; i < count; i++) {
+            ret[i] = (byte) (first + i);
+        }
+        return ret;
+    }
+}
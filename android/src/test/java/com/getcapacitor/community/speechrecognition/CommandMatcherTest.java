@@ -0,0 +1,89 @@
+package com.getcapacitor.community.speechrecognition;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class CommandMatcherTest {
+
+    @Test
+    public void testMatch_ShouldFindEveryCommandInOrderOfItsEnd() {
+        // Arrange
+        CommandMatcher matcher = CommandMatcher.compile(Arrays.asList("lights on", "on", "turn the lights on"));
+
+        // Act
+        List<String> hits = match(matcher, "please turn the lights on");
+
+        // Assert - overlapping commands ending at the same word are all reported
+        assertEquals(3, hits.size());
+        assertTrue(hits.containsAll(Arrays.asList("lights on", "on", "turn the lights on")));
+    }
+
+    @Test
+    public void testMatch_ShouldIgnoreCaseAndCollapseWhitespace() {
+        // Arrange
+        CommandMatcher matcher = CommandMatcher.compile(Collections.singletonList("  Next   Slide "));
+
+        // Act & Assert
+        assertEquals(Collections.singletonList("  Next   Slide "), match(matcher, "go to the NEXT\tslide now"));
+    }
+
+    @Test
+    public void testMatch_ShouldOnlyMatchWholeWords() {
+        // Arrange
+        CommandMatcher matcher = CommandMatcher.compile(Arrays.asList("stop", "go"));
+
+        // Act & Assert
+        assertTrue(match(matcher, "nonstop goal stopped ago").isEmpty());
+        assertEquals(Arrays.asList("stop", "go"), match(matcher, "stop, go!"));
+    }
+
+    @Test
+    public void testMatch_ShouldReportRepeatedOccurrences() {
+        // Arrange
+        CommandMatcher matcher = CommandMatcher.compile(Collections.singletonList("next"));
+
+        // Act & Assert
+        assertEquals(3, match(matcher, "next next and next").size());
+    }
+
+    @Test
+    public void testMatch_ShouldFollowFailLinksAfterAPartialMatch() {
+        // Arrange - "turn off" shares its prefix with the longer command
+        CommandMatcher matcher = CommandMatcher.compile(Arrays.asList("turn off the lights", "off"));
+
+        // Act & Assert
+        assertEquals(Collections.singletonList("off"), match(matcher, "turn off the radio"));
+    }
+
+    @Test
+    public void testCompile_DuplicatesAndEmptyPhrases() {
+        // Arrange
+        CommandMatcher matcher = CommandMatcher.compile(Arrays.asList("", "stop", "STOP", "   "));
+        List<Integer> hits = new ArrayList<>();
+
+        // Act
+        matcher.match("stop", hits::add);
+
+        // Assert - indexes refer to the given list, duplicates keep the first one
+        assertEquals(4, matcher.size());
+        assertEquals(Collections.singletonList(1), hits);
+    }
+
+    @Test
+    public void testNormalize_ShouldFoldCaseAndTrim() {
+        assertEquals("turn on", CommandMatcher.normalize("Turn \n ON  "));
+        assertEquals("", CommandMatcher.normalize("   "));
+    }
+
+    private static List<String> match(CommandMatcher matcher, String text) {
+        List<String> hits = new ArrayList<>();
+        matcher.match(text, command -> hits.add(matcher.get(command)));
+        return hits;
+    }
+}
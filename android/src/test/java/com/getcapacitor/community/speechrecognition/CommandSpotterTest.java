@@ -0,0 +1,73 @@
+package com.getcapacitor.community.speechrecognition;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class CommandSpotterTest {
+
+    private final List<String> spotted = new ArrayList<>();
+    private final CommandSpotter.Listener listener = (command, index, isFinal) -> spotted.add(command + (isFinal ? ":final" : ""));
+    private CommandSpotter spotter;
+
+    @Before
+    public void setUp() {
+        spotter = new CommandSpotter();
+        spotter.setCommands(Arrays.asList("next", "stop"));
+    }
+
+    @Test
+    public void testGrowingPartials_ShouldReportEachOccurrenceOnce() {
+        // Act
+        spotter.spot("next", false, listener);
+        spotter.spot("next slide", false, listener);
+        spotter.spot("next slide next", false, listener);
+        spotter.spot("next slide next", true, listener);
+
+        // Assert
+        assertEquals(Arrays.asList("next", "next"), spotted);
+    }
+
+    @Test
+    public void testReset_ShouldReportAgainInTheNextUtterance() {
+        // Arrange
+        spotter.spot("stop", true, listener);
+
+        // Act
+        spotter.reset();
+        spotter.spot("stop", false, listener);
+
+        // Assert
+        assertEquals(Arrays.asList("stop:final", "stop"), spotted);
+    }
+
+    @Test
+    public void testSetCommands_ShouldForgetReportedIndexes() {
+        // Arrange
+        spotter.spot("next", false, listener);
+
+        // Act - index 0 now names another command
+        spotter.setCommands(Arrays.asList("stop", "next"));
+        spotter.spot("next stop", false, listener);
+
+        // Assert
+        assertEquals(Arrays.asList("next", "next", "stop"), spotted);
+    }
+
+    @Test
+    public void testNoCommands_ShouldDisableSpotting() {
+        // Act
+        spotter.setCommands(Collections.emptyList());
+        spotter.spot("next", false, listener);
+
+        // Assert
+        assertFalse(spotter.isEnabled());
+        assertTrue(spotted.isEmpty());
+    }
+}
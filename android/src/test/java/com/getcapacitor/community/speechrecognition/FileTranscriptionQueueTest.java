@@ -0,0 +1,176 @@
+package com.getcapacitor.community.speechrecognition;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static org.junit.Assert.*;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class FileTranscriptionQueueTest {
+
+    private File file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = File.createTempFile("transcription", ".wav");
+    }
+
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Test
+    public void testPcmSource_Wav_ShouldReadTheFormatAndDataChunk() throws IOException {
+        // Arrange - one second of 16 kHz stereo
+        write(riff(fmt(1, 2, 16000, 16), chunk("data", new byte[64000])));
+
+        // Act
+        FileTranscriptionQueue.PcmSource source = FileTranscriptionQueue.PcmSource.open(file);
+
+        // Assert
+        assertEquals(16000, source.sampleRate);
+        assertEquals(2, source.channels);
+        assertEquals(44, source.dataOffset);
+        assertEquals(64000, source.dataBytes);
+        assertEquals(1000, source.durationMs());
+    }
+
+    @Test
+    public void testPcmSource_ExtraChunks_ShouldBeSkipped() throws IOException {
+        // Arrange - a LIST chunk before the format and a fact chunk before the data
+        write(riff(chunk("LIST", new byte[26]), fmt(1, 1, 8000, 16), chunk("fact", new byte[4]), chunk("data", new byte[800])));
+
+        // Act
+        FileTranscriptionQueue.PcmSource source = FileTranscriptionQueue.PcmSource.open(file);
+
+        // Assert
+        assertEquals(12 + 34 + 24 + 12 + 8, source.dataOffset);
+        assertEquals(800, source.dataBytes);
+        assertEquals(50, source.durationMs());
+    }
+
+    @Test
+    public void testPcmSource_OddSizedChunk_ShouldSkipThePadByte() throws IOException {
+        // Arrange - a 3 byte chunk is followed by one pad byte
+        write(riff(fmt(1, 1, 16000, 16), chunk("junk", new byte[3]), chunk("data", new byte[320])));
+
+        // Act
+        FileTranscriptionQueue.PcmSource source = FileTranscriptionQueue.PcmSource.open(file);
+
+        // Assert
+        assertEquals(12 + 24 + 12 + 8, source.dataOffset);
+        assertEquals(320, source.dataBytes);
+    }
+
+    @Test
+    public void testPcmSource_TruncatedData_ShouldStopAtTheEndOfTheFile() throws IOException {
+        // Arrange - the header claims more data than was written
+        byte[] data = chunk("data", new byte[100]);
+        ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN).putInt(4, 1000);
+        write(riff(fmt(1, 1, 16000, 16), data));
+
+        // Act & Assert
+        assertEquals(100, FileTranscriptionQueue.PcmSource.open(file).dataBytes);
+    }
+
+    @Test
+    public void testPcmSource_InvalidWav_ShouldThrow() throws IOException {
+        assertOpenFails("Not a WAV file", "RIFX....WAVE".getBytes("US-ASCII"));
+        assertOpenFails("Only 16-bit PCM WAV files are supported", riff(fmt(3, 1, 16000, 32), chunk("data", new byte[4])));
+        assertOpenFails("Only 16-bit PCM WAV files are supported", riff(fmt(1, 1, 16000, 8), chunk("data", new byte[4])));
+        assertOpenFails("WAV data before format", riff(chunk("data", new byte[4]), fmt(1, 1, 16000, 16)));
+        assertOpenFails("WAV file has no data", riff(fmt(1, 1, 16000, 16)));
+    }
+
+    @Test
+    public void testPcmSource_RawFile_ShouldBeRead16kMono() throws IOException {
+        // Arrange
+        File raw = File.createTempFile("transcription", ".pcm");
+        try (OutputStream out = new FileOutputStream(raw)) {
+            out.write(new byte[32000]);
+        }
+
+        // Act
+        FileTranscriptionQueue.PcmSource source = FileTranscriptionQueue.PcmSource.open(raw);
+        raw.delete();
+
+        // Assert
+        assertEquals(FileTranscriptionQueue.RAW_SAMPLE_RATE, source.sampleRate);
+        assertEquals(1, source.channels);
+        assertEquals(0, source.dataOffset);
+        assertEquals(1000, source.durationMs());
+    }
+
+    @Test
+    public void testPcmSource_MissingFile_ShouldThrow() {
+        // Arrange
+        file.delete();
+
+        // Act & Assert
+        try {
+            FileTranscriptionQueue.PcmSource.open(file);
+            fail("Should not open a missing file");
+        } catch (IOException ex) {
+            assertEquals("File not found", ex.getMessage());
+        }
+    }
+
+    private void assertOpenFails(String message, byte[] contents) throws IOException {
+        write(contents);
+        try {
+            FileTranscriptionQueue.PcmSource.open(file);
+            fail("Should reject: " + message);
+        } catch (IOException ex) {
+            assertEquals(message, ex.getMessage());
+        }
+    }
+
+    private void write(byte[] contents) throws IOException {
+        try (OutputStream out = new FileOutputStream(file)) {
+            out.write(contents);
+        }
+    }
+
+    private static byte[] riff(byte[]... chunks) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        for (byte[] chunk : chunks) {
+            body.write(chunk);
+        }
+        ByteBuffer header = ByteBuffer.allocate(12).order(ByteOrder.LITTLE_ENDIAN);
+        header.put("RIFF".getBytes("US-ASCII")).putInt(4 + body.size()).put("WAVE".getBytes("US-ASCII"));
+        ByteArrayOutputStream ret = new ByteArrayOutputStream();
+        ret.write(header.array());
+        body.writeTo(ret);
+        return ret.toByteArray();
+    }
+
+    private static byte[] fmt(int format, int channels, int sampleRate, int bitsPerSample) throws IOException {
+        ByteBuffer fmt = ByteBuffer.allocate(16).order(ByteOrder.LITTLE_ENDIAN);
+        fmt.putShort((short) format).putShort((short) channels).putInt(sampleRate);
+        fmt.putInt(sampleRate * channels * bitsPerSample / 8).putShort((short) (channels * bitsPerSample / 8)).putShort((short) bitsPerSample);
+        return chunk("fmt ", fmt.array());
+    }
+
+    /**
+     * A chunk with its header, padded to an even length like the format requires.
+     */
+    private static byte[] chunk(String id, byte[] data) throws IOException {
+        ByteBuffer chunk = ByteBuffer.allocate(8 + data.length + (data.length & 1)).order(ByteOrder.LITTLE_ENDIAN);
+        chunk.put(id.getBytes("US-ASCII")).putInt(data.length).put(data);
+        return chunk.array();
+    }
+}
@@ -0,0 +1,115 @@
+package com.getcapacitor.community.speechrecognition;
+
+import com.getcapacitor.JSArray;
+import org.json.JSONObject;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class FuzzyVocabularyTest {
+
+    private static final List<String> PRODUCTS = Arrays.asList("Coca-Cola", "Coke Zero", "Sprite", "Fanta Orange", "Pepsi Max", "7 Up");
+
+    @Test
+    public void testMatch_ShouldRankTheClosestEntryFirst() throws Exception {
+        // Arrange
+        FuzzyVocabulary vocabulary = FuzzyVocabulary.build(PRODUCTS, 3, -1, 1000);
+
+        // Act
+        JSArray matches = vocabulary.match(Collections.singletonList("coca cola"));
+
+        // Assert
+        JSONObject best = matches.getJSONObject(0);
+        assertEquals("Coca-Cola", best.getString("entry"));
+        assertEquals(0, best.getInt("index"));
+        assertEquals(0, best.getInt("distance"));
+        assertEquals(1.0, best.getDouble("score"), 0.0001);
+    }
+
+    @Test
+    public void testMatch_ShouldTolerateMisrecognizedCharacters() throws Exception {
+        // Arrange
+        FuzzyVocabulary vocabulary = FuzzyVocabulary.build(PRODUCTS, 3, 2, 1000);
+
+        // Act
+        JSArray matches = vocabulary.match(Collections.singletonList("fanta orang"));
+
+        // Assert
+        assertEquals("Fanta Orange", matches.getJSONObject(0).getString("entry"));
+        assertEquals(1, matches.getJSONObject(0).getInt("distance"));
+    }
+
+    @Test
+    public void testMatch_ShouldNormalizeNumberWords() throws Exception {
+        // Arrange
+        FuzzyVocabulary vocabulary = FuzzyVocabulary.build(PRODUCTS, 1, 0, 1000);
+
+        // Act
+        JSArray matches = vocabulary.match(Collections.singletonList("Seven up"));
+
+        // Assert
+        assertEquals(1, matches.length());
+        assertEquals("7 Up", matches.getJSONObject(0).getString("entry"));
+    }
+
+    @Test
+    public void testMatch_ShouldKeepTheBestScoreOverAllAlternatives() throws Exception {
+        // Arrange
+        FuzzyVocabulary vocabulary = FuzzyVocabulary.build(PRODUCTS, 3, 2, 1000);
+
+        // Act - both alternatives find Sprite, the exact one wins
+        JSArray matches = vocabulary.match(Arrays.asList("sprit", "sprite"));
+
+        // Assert
+        assertEquals(1, matches.length());
+        assertEquals(0, matches.getJSONObject(0).getInt("distance"));
+    }
+
+    @Test
+    public void testMatch_ShouldReturnAtMostTopK() {
+        // Arrange
+        List<String> entries = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            entries.add("item " + i);
+        }
+        FuzzyVocabulary vocabulary = FuzzyVocabulary.build(entries, 3, 2, 1000);
+
+        // Act & Assert
+        assertEquals(3, vocabulary.match(Collections.singletonList("item 1")).length());
+    }
+
+    @Test
+    public void testMatch_TooFarOrEmpty_ShouldReturnNothing() {
+        // Arrange
+        FuzzyVocabulary vocabulary = FuzzyVocabulary.build(PRODUCTS, 3, 1, 1000);
+
+        // Act & Assert
+        assertEquals(0, vocabulary.match(Collections.singletonList("lemonade")).length());
+        assertEquals(0, vocabulary.match(Arrays.asList("", "!!")).length());
+    }
+
+    @Test
+    public void testNormalize_ShouldStripPunctuationAndJoinNumbers() {
+        assertEquals("coca cola", FuzzyVocabulary.normalize("Coca-Cola!"));
+        assertEquals("21 pilots", FuzzyVocabulary.normalize("twenty one pilots"));
+        assertEquals("20 20", FuzzyVocabulary.normalize("twenty twenty"));
+    }
+
+    @Test
+    public void testDistance_ShouldStopAtTheLimit() {
+        assertEquals(0, FuzzyVocabulary.distance("sprite", "sprite", 2));
+        assertEquals(1, FuzzyVocabulary.distance("sprite", "sprit", 2));
+        assertEquals(2, FuzzyVocabulary.distance("kitten", "sitting", 1));
+        assertEquals(3, FuzzyVocabulary.distance("kitten", "sitting", 3));
+    }
+}
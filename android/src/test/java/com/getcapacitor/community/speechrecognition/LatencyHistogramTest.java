@@ -0,0 +1,125 @@
+package com.getcapacitor.community.speechrecognition;
+
+import com.getcapacitor.JSObject;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.*;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class LatencyHistogramTest {
+
+    private static final long MS = 1000000;
+
+    private LatencyHistogram histogram;
+
+    @Before
+    public void setUp() {
+        histogram = new LatencyHistogram();
+    }
+
+    @Test
+    public void testIndex_SmallValues_ShouldHaveTheirOwnBucket() {
+        for (int units = 0; units < LatencyHistogram.SUB_BUCKETS; units++) {
+            assertEquals(units, LatencyHistogram.index(units));
+            assertEquals(units, LatencyHistogram.value(units), 0);
+        }
+    }
+
+    @Test
+    public void testIndex_ShouldBeContiguousAndIncreasing() {
+        // Arrange
+        int previous = 0;
+
+        // Act & Assert - every bucket is used and no value goes back to a lower one
+        for (long units = 1; units < 1L << (LatencyHistogram.MAX_EXPONENT + 1); units++) {
+            int index = LatencyHistogram.index(units);
+            assertTrue("Units " + units, index == previous || index == previous + 1);
+            previous = index;
+        }
+        assertEquals(LatencyHistogram.BUCKETS - 1, previous);
+    }
+
+    @Test
+    public void testValue_ShouldBeWithinHalfABucketOfTheRecordedValue() {
+        for (long units = LatencyHistogram.SUB_BUCKETS; units < 1L << (LatencyHistogram.MAX_EXPONENT + 1); units += 7) {
+            double value = LatencyHistogram.value(LatencyHistogram.index(units));
+            double error = Math.abs(value - units) / units;
+            assertTrue("Units " + units + " read back as " + value, error <= 1.0 / (2 * LatencyHistogram.SUB_BUCKETS));
+        }
+    }
+
+    @Test
+    public void testIndex_PastTheLastExponent_ShouldUseTheLastBucket() {
+        assertEquals(LatencyHistogram.BUCKETS - 1, LatencyHistogram.index(1L << (LatencyHistogram.MAX_EXPONENT + 1)));
+        assertEquals(LatencyHistogram.BUCKETS - 1, LatencyHistogram.index(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testSnapshot_ShouldReportPercentilesWithinTheBucketError() {
+        // Arrange - 1 ms to 1000 ms in even steps
+        for (int ms = 1; ms <= 1000; ms++) {
+            histogram.record(ms * MS);
+        }
+
+        // Act
+        JSObject snapshot = histogram.snapshot();
+
+        // Assert
+        assertEquals(1000, (int) snapshot.getInteger("count"));
+        assertEquals(1, snapshot.optDouble("minMs"), 0);
+        assertEquals(1000, snapshot.optDouble("maxMs"), 0);
+        assertEquals(500.5, snapshot.optDouble("meanMs"), 0.001);
+        assertEquals(500, snapshot.optDouble("p50Ms"), 500 * 0.06);
+        assertEquals(950, snapshot.optDouble("p95Ms"), 950 * 0.06);
+        assertEquals(990, snapshot.optDouble("p99Ms"), 990 * 0.06);
+    }
+
+    @Test
+    public void testSnapshot_SingleValue_ShouldNotReportPastTheExtremes() {
+        // Arrange
+        histogram.record(123 * MS);
+
+        // Act
+        JSObject snapshot = histogram.snapshot();
+
+        // Assert - the bucket middle is clamped to the exact min and max
+        assertEquals(123, snapshot.optDouble("p50Ms"), 0);
+        assertEquals(123, snapshot.optDouble("p99Ms"), 0);
+    }
+
+    @Test
+    public void testSnapshot_OutlierShouldOnlyMoveTheTopPercentile() {
+        // Arrange
+        for (int i = 0; i < 99; i++) {
+            histogram.record(10 * MS);
+        }
+        histogram.record(200000 * MS);
+
+        // Act
+        JSObject snapshot = histogram.snapshot();
+
+        // Assert
+        assertEquals(10, snapshot.optDouble("p50Ms"), 0.6);
+        assertEquals(10, snapshot.optDouble("p99Ms"), 0.6);
+        assertEquals(200000, snapshot.optDouble("maxMs"), 0);
+    }
+
+    @Test
+    public void testReset_ShouldClearEverything() {
+        // Arrange
+        histogram.record(5 * MS);
+
+        // Act
+        histogram.reset();
+
+        // Assert - an empty snapshot only has the count
+        JSObject snapshot = histogram.snapshot();
+        assertEquals(0, (int) snapshot.getInteger("count"));
+        assertFalse(snapshot.has("p50Ms"));
+    }
+}
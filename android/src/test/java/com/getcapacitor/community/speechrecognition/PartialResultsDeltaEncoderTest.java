@@ -0,0 +1,142 @@
+package com.getcapacitor.community.speechrecognition;
+
+import com.getcapacitor.JSObject;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class PartialResultsDeltaEncoderTest {
+
+    private PartialResultsDeltaEncoder encoder;
+
+    @Before
+    public void setUp() {
+        encoder = new PartialResultsDeltaEncoder();
+    }
+
+    @Test
+    public void testFirstPartial_ShouldSendEveryAlternative() throws Exception {
+        // Act
+        JSObject delta = encoder.encode(Arrays.asList("turn on", "turn off"));
+
+        // Assert
+        assertEquals(1, (int) delta.getInteger("seq"));
+        assertEquals(2, (int) delta.getInteger("count"));
+        JSONArray changes = delta.getJSONArray("changes");
+        assertEquals(2, changes.length());
+        assertEquals(0, changes.getJSONObject(1).getInt("offset"));
+        assertEquals("turn off", changes.getJSONObject(1).getString("text"));
+    }
+
+    @Test
+    public void testGrowingPartial_ShouldSendOnlyTheNewSuffix() throws Exception {
+        // Arrange
+        encoder.encode(Arrays.asList("turn on", "turn off"));
+
+        // Act
+        JSObject delta = encoder.encode(Arrays.asList("turn on the lights", "turn off"));
+
+        // Assert - the unchanged alternative is left out
+        JSONArray changes = delta.getJSONArray("changes");
+        assertEquals(1, changes.length());
+        assertEquals(0, changes.getJSONObject(0).getInt("index"));
+        assertEquals(7, changes.getJSONObject(0).getInt("offset"));
+        assertEquals(" the lights", changes.getJSONObject(0).getString("text"));
+    }
+
+    @Test
+    public void testSamePartial_ShouldReturnNull() {
+        // Arrange
+        encoder.encode(Arrays.asList("turn on"));
+
+        // Act & Assert
+        assertNull(encoder.encode(Arrays.asList("turn on")));
+        assertEquals(1, (int) encoder.snapshot().getInteger("seq"));
+    }
+
+    @Test
+    public void testFewerAlternatives_ShouldSendTheNewCount() throws Exception {
+        // Arrange
+        encoder.encode(Arrays.asList("turn on", "turn off"));
+
+        // Act
+        JSObject delta = encoder.encode(Arrays.asList("turn on"));
+
+        // Assert
+        assertNotNull(delta);
+        assertEquals(1, (int) delta.getInteger("count"));
+        assertEquals(0, delta.getJSONArray("changes").length());
+    }
+
+    @Test
+    public void testSurrogatePair_ShouldNotBeSplit() throws Exception {
+        // Arrange - both emoji share their high surrogate
+        encoder.encode(Arrays.asList("ok 😀"));
+
+        // Act
+        JSObject delta = encoder.encode(Arrays.asList("ok 😃"));
+
+        // Assert
+        JSONObject change = delta.getJSONArray("changes").getJSONObject(0);
+        assertEquals(3, change.getInt("offset"));
+        assertEquals("😃", change.getString("text"));
+    }
+
+    @Test
+    public void testDeltas_ShouldRebuildEveryPartial() throws Exception {
+        // Arrange
+        List<List<String>> partials = Arrays.asList(
+            Arrays.asList("play"),
+            Arrays.asList("play some", "place some"),
+            Arrays.asList("play some music", "place some music"),
+            Arrays.asList("play sam music", "place some music"),
+            Arrays.asList("play some music")
+        );
+
+        // Act & Assert - rebuilt the way JS does it, previous.substring(0, offset) + text
+        List<String> rebuilt = new ArrayList<>();
+        for (List<String> partial : partials) {
+            JSObject delta = encoder.encode(partial);
+            JSONArray changes = delta.getJSONArray("changes");
+            for (int i = 0; i < changes.length(); i++) {
+                int index = changes.getJSONObject(i).getInt("index");
+                String previous = index < rebuilt.size() ? rebuilt.get(index) : "";
+                String text = previous.substring(0, changes.getJSONObject(i).getInt("offset")) + changes.getJSONObject(i).getString("text");
+                if (index < rebuilt.size()) {
+                    rebuilt.set(index, text);
+                } else {
+                    rebuilt.add(text);
+                }
+            }
+            rebuilt = new ArrayList<>(rebuilt.subList(0, delta.getInteger("count")));
+            assertEquals(partial, rebuilt);
+        }
+    }
+
+    @Test
+    public void testReset_ShouldKeepTheSequenceGoing() throws Exception {
+        // Arrange
+        encoder.encode(Arrays.asList("turn on"));
+
+        // Act
+        encoder.reset();
+        JSObject delta = encoder.encode(Arrays.asList("turn on"));
+
+        // Assert - the same text is sent again in full for the new session
+        assertEquals(2, (int) delta.getInteger("seq"));
+        assertEquals(0, delta.getJSONArray("changes").getJSONObject(0).getInt("offset"));
+        assertEquals("turn on", encoder.snapshot().getJSONArray("matches").getString(0));
+    }
+}
@@ -0,0 +1,81 @@
+package com.getcapacitor.community.speechrecognition;
+
+import com.getcapacitor.JSObject;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class PartialResultsFilterTest {
+
+    private PartialResultsFilter filter;
+
+    @Before
+    public void setUp() {
+        filter = new PartialResultsFilter();
+    }
+
+    @Test
+    public void testSameMatches_ShouldBeSuppressed() {
+        // Arrange - equal content in a new list, like a new result bundle
+        assertTrue(filter.accept(new ArrayList<>(Arrays.asList("turn on", "turn off"))));
+
+        // Act & Assert
+        assertFalse(filter.accept(new ArrayList<>(Arrays.asList("turn on", "turn off"))));
+    }
+
+    @Test
+    public void testChangedMatches_ShouldBeAccepted() {
+        // Arrange
+        filter.accept(Arrays.asList("turn on", "turn off"));
+
+        // Act & Assert
+        assertTrue("Changed alternative", filter.accept(Arrays.asList("turn on", "turn of")));
+        assertTrue("Fewer alternatives", filter.accept(Arrays.asList("turn on")));
+        assertTrue("Null alternative", filter.accept(Arrays.asList((String) null)));
+        assertFalse(filter.accept(Arrays.asList((String) null)));
+    }
+
+    @Test
+    public void testMissingMatches_ShouldBeSuppressed() {
+        assertFalse(filter.accept(null));
+        assertFalse(filter.accept(Collections.emptyList()));
+    }
+
+    @Test
+    public void testReset_ShouldAcceptTheSameMatchesAgain() {
+        // Arrange
+        filter.accept(Arrays.asList("turn on"));
+
+        // Act
+        filter.reset();
+
+        // Assert
+        assertTrue(filter.accept(Arrays.asList("turn on")));
+    }
+
+    @Test
+    public void testGetMetrics_ShouldCountReceivedAndSuppressed() {
+        // Arrange
+        filter.accept(Arrays.asList("turn"));
+        filter.accept(Arrays.asList("turn"));
+        filter.accept(Arrays.asList("turn on"));
+        filter.accept(null);
+
+        // Act
+        JSObject metrics = filter.getMetrics();
+
+        // Assert
+        assertEquals(4, (int) metrics.getInteger("received"));
+        assertEquals(2, (int) metrics.getInteger("suppressed"));
+    }
+}
@@ -0,0 +1,116 @@
+package com.getcapacitor.community.speechrecognition;
+
+import android.os.Handler;
+import android.os.Looper;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.LooperMode;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.robolectric.Shadows.shadowOf;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+@LooperMode(LooperMode.Mode.PAUSED)
+public class PartialResultsThrottleTest {
+
+    private final List<String> emitted = new ArrayList<>();
+    private final PartialResultsThrottle.Sink sink = matches -> emitted.add(matches.get(0));
+    private PartialResultsThrottle throttle;
+
+    @Before
+    public void setUp() {
+        throttle = new PartialResultsThrottle(new Handler(Looper.getMainLooper()));
+        // The first partial is compared against uptime 0, start well past any interval
+        advance(1000);
+    }
+
+    @Test
+    public void testNoInterval_ShouldEmitEveryPartial() {
+        // Act
+        submit("turn");
+        submit("turn on");
+        submit("turn on the");
+
+        // Assert
+        assertEquals(Arrays.asList("turn", "turn on", "turn on the"), emitted);
+        assertEquals(0, throttle.getCoalesced());
+    }
+
+    @Test
+    public void testInterval_ShouldEmitOnlyTheLatestHeldPartial() {
+        // Arrange
+        throttle.setIntervalMs(100);
+
+        // Act
+        submit("turn");
+        advance(10);
+        submit("turn on");
+        advance(10);
+        submit("turn on the");
+
+        // Assert - the held partial goes out when the interval since the first one has elapsed
+        assertEquals(Collections.singletonList("turn"), emitted);
+        advance(79);
+        assertEquals(1, emitted.size());
+        advance(1);
+        assertEquals(Arrays.asList("turn", "turn on the"), emitted);
+        assertEquals(1, throttle.getCoalesced());
+    }
+
+    @Test
+    public void testInterval_ElapsedSinceLastEmit_ShouldEmitRightAway() {
+        // Arrange
+        throttle.setIntervalMs(100);
+        submit("turn");
+        advance(150);
+
+        // Act
+        submit("turn on");
+
+        // Assert
+        assertEquals(Arrays.asList("turn", "turn on"), emitted);
+    }
+
+    @Test
+    public void testDiscardPending_ShouldDropTheHeldPartial() {
+        // Arrange
+        throttle.setIntervalMs(100);
+        submit("turn");
+        submit("turn on");
+
+        // Act - a final result supersedes the held partial
+        throttle.discardPending();
+        advance(500);
+
+        // Assert
+        assertEquals(Collections.singletonList("turn"), emitted);
+        assertEquals(1, throttle.getCoalesced());
+    }
+
+    @Test
+    public void testDiscardPending_WithoutHeldPartial_ShouldDoNothing() {
+        // Act
+        throttle.discardPending();
+
+        // Assert
+        assertEquals(0, throttle.getCoalesced());
+    }
+
+    private void submit(String text) {
+        throttle.submit(Collections.singletonList(text), sink);
+    }
+
+    private static void advance(long ms) {
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(ms));
+    }
+}
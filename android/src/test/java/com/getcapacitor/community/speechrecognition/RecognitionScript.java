@@ -0,0 +1,110 @@
+package com.getcapacitor.community.speechrecognition;
+
+import android.os.Bundle;
+import android.speech.RecognitionListener;
+import android.speech.SpeechRecognizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Timeline of the callbacks one simulated recognizer session delivers, in
+ * milliseconds after startListening().
+ */
+public class RecognitionScript {
+
+    public interface Step {
+        void play(RecognitionListener listener);
+    }
+
+    static final class Event {
+
+        final long atMs;
+        final Step step;
+
+        Event(long atMs, Step step) {
+            this.atMs = atMs;
+            this.step = step;
+        }
+    }
+
+    private final List<Event> events = new ArrayList<>();
+
+    public static RecognitionScript session() {
+        return new RecognitionScript();
+    }
+
+    /**
+     * A session that hears the text: ready, speech, one partial per word, end of speech and the result.
+     */
+    public static RecognitionScript utterance(String text) {
+        RecognitionScript script = session().ready(50).speech(300);
+        String[] words = text.split(" ");
+        StringBuilder partial = new StringBuilder();
+        for (int i = 0; i < words.length; i++) {
+            partial.append(i == 0 ? "" : " ").append(words[i]);
+            script.partial(400 + i * 150L, partial.toString());
+        }
+        long end = 400 + words.length * 150L;
+        return script.endOfSpeech(end).results(end + 200, text);
+    }
+
+    /**
+     * A session that hears nothing and ends with the given error, like ERROR_SPEECH_TIMEOUT.
+     */
+    public static RecognitionScript silence(long durationMs, int error) {
+        return session().ready(50).error(durationMs, error);
+    }
+
+    public RecognitionScript ready(long atMs) {
+        return at(atMs, listener -> listener.onReadyForSpeech(new Bundle()));
+    }
+
+    public RecognitionScript speech(long atMs) {
+        return at(atMs, RecognitionListener::onBeginningOfSpeech);
+    }
+
+    public RecognitionScript partial(long atMs, String... matches) {
+        return at(atMs, listener -> listener.onPartialResults(bundle(matches, null)));
+    }
+
+    public RecognitionScript endOfSpeech(long atMs) {
+        return at(atMs, RecognitionListener::onEndOfSpeech);
+    }
+
+    public RecognitionScript results(long atMs, String... matches) {
+        return at(atMs, listener -> listener.onResults(bundle(matches, null)));
+    }
+
+    public RecognitionScript results(long atMs, String[] matches, float[] confidences) {
+        return at(atMs, listener -> listener.onResults(bundle(matches, confidences)));
+    }
+
+    public RecognitionScript error(long atMs, int error) {
+        return at(atMs, listener -> listener.onError(error));
+    }
+
+    public RecognitionScript at(long atMs, Step step) {
+        events.add(new Event(atMs, step));
+        return this;
+    }
+
+    /**
+     * Events ordered by time, events at the same time keep the order they were added in.
+     */
+    List<Event> events() {
+        List<Event> ret = new ArrayList<>(events);
+        ret.sort((a, b) -> Long.compare(a.atMs, b.atMs));
+        return Collections.unmodifiableList(ret);
+    }
+
+    private static Bundle bundle(String[] matches, float[] confidences) {
+        Bundle bundle = new Bundle();
+        bundle.putStringArrayList(SpeechRecognizer.RESULTS_RECOGNITION, new ArrayList<>(Arrays.asList(matches)));
+        if (confidences != null) {
+            bundle.putFloatArray(SpeechRecognizer.CONFIDENCE_SCORES, confidences);
+        }
+        return bundle;
+    }
+}
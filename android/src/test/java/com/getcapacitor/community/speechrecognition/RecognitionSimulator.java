@@ -0,0 +1,130 @@
+package com.getcapacitor.community.speechrecognition;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import android.content.ComponentName;
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.speech.RecognitionListener;
+import android.speech.SpeechRecognizer;
+import java.util.ArrayDeque;
+
+/**
+ * Recognizer factory whose recognizers play scripted sessions on the main looper.
+ *
+ * Each startListening() plays the next queued script, or the default one when
+ * the queue is empty. Callbacks are posted at their scripted time, so with
+ * Robolectric's paused looper a test decides when time passes and nothing
+ * depends on the wall clock. cancel(), stopListening() and destroy() drop the
+ * callbacks that did not play yet; stopListening() then reports ERROR_CLIENT
+ * like a recognizer that heard nothing.
+ */
+public class RecognitionSimulator implements RecognizerPool.Factory {
+
+    static final long STOP_DELAY_MS = 20;
+
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final ArrayDeque<RecognitionScript> scripts = new ArrayDeque<>();
+    private RecognitionScript defaultScript = RecognitionScript.session().ready(50);
+
+    private int created = 0;
+    private int started = 0;
+    private int cancelled = 0;
+    private int stopped = 0;
+
+    /**
+     * Queues scripts for the next sessions, in order.
+     */
+    public RecognitionSimulator enqueue(RecognitionScript... sessions) {
+        for (RecognitionScript session : sessions) {
+            scripts.addLast(session);
+        }
+        return this;
+    }
+
+    /**
+     * The script played when the queue is empty; by default the session becomes ready and stays quiet.
+     */
+    public RecognitionSimulator setDefault(RecognitionScript script) {
+        defaultScript = script;
+        return this;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public int getStarted() {
+        return started;
+    }
+
+    public int getCancelled() {
+        return cancelled;
+    }
+
+    public int getStopped() {
+        return stopped;
+    }
+
+    public int getPending() {
+        return scripts.size();
+    }
+
+    @Override
+    public SpeechRecognizer create(Context context, ComponentName component, boolean onDevice) {
+        created++;
+        SpeechRecognizer recognizer = mock(SpeechRecognizer.class);
+        // Callbacks of one recognizer are posted with its own token so they can be dropped together
+        Object token = new Object();
+        RecognitionListener[] listener = new RecognitionListener[1];
+
+        doAnswer(invocation -> {
+            listener[0] = invocation.getArgument(0);
+            return null;
+        })
+            .when(recognizer)
+            .setRecognitionListener(any());
+        doAnswer(invocation -> {
+            started++;
+            handler.removeCallbacksAndMessages(token);
+            play(scripts.isEmpty() ? defaultScript : scripts.pollFirst(), listener[0], token);
+            return null;
+        })
+            .when(recognizer)
+            .startListening(any());
+        doAnswer(invocation -> {
+            cancelled++;
+            handler.removeCallbacksAndMessages(token);
+            return null;
+        })
+            .when(recognizer)
+            .cancel();
+        doAnswer(invocation -> {
+            stopped++;
+            handler.removeCallbacksAndMessages(token);
+            RecognitionListener current = listener[0];
+            handler.postAtTime(() -> current.onError(SpeechRecognizer.ERROR_CLIENT), token, SystemClock.uptimeMillis() + STOP_DELAY_MS);
+            return null;
+        })
+            .when(recognizer)
+            .stopListening();
+        doAnswer(invocation -> {
+            handler.removeCallbacksAndMessages(token);
+            return null;
+        })
+            .when(recognizer)
+            .destroy();
+        return recognizer;
+    }
+
+    private void play(RecognitionScript script, RecognitionListener listener, Object token) {
+        long start = SystemClock.uptimeMillis();
+        for (RecognitionScript.Event event : script.events()) {
+            handler.postAtTime(() -> event.step.play(listener), token, start + event.atMs);
+        }
+    }
+}
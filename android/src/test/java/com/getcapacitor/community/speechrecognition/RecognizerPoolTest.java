@@ -0,0 +1,204 @@
+package com.getcapacitor.community.speechrecognition;
+
+import android.content.ComponentName;
+import android.os.Handler;
+import android.os.Looper;
+import android.speech.SpeechRecognizer;
+import com.getcapacitor.JSObject;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.LooperMode;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+import static org.robolectric.Shadows.shadowOf;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+@LooperMode(LooperMode.Mode.PAUSED)
+public class RecognizerPoolTest {
+
+    private static final ComponentName OTHER_SERVICE = new ComponentName("com.example.other", "com.example.other.RecognizerService");
+
+    private final List<SpeechRecognizer> created = new ArrayList<>();
+    private final List<ComponentName> components = new ArrayList<>();
+    private RecognizerPool pool;
+
+    @Before
+    public void setUp() {
+        pool = new RecognizerPool(
+            RuntimeEnvironment.getApplication(),
+            new Handler(Looper.getMainLooper()),
+            (context, component, onDevice) -> {
+                SpeechRecognizer recognizer = mock(SpeechRecognizer.class);
+                created.add(recognizer);
+                components.add(component);
+                return recognizer;
+            }
+        );
+    }
+
+    @Test
+    public void testAcquire_WithoutStandby_ShouldCreateColdAndReplenish() {
+        // Act
+        RecognizerPool.Acquired acquired = pool.acquire(null, false);
+
+        // Assert - the standby is created off the call stack
+        assertFalse(acquired.warm);
+        assertEquals(1, created.size());
+        advance();
+        assertEquals(2, created.size());
+        assertTrue(pool.getMetrics().getBoolean("standbyReady", false));
+    }
+
+    @Test
+    public void testAcquire_AfterPrewarm_ShouldHandOutStandby() {
+        // Arrange
+        pool.prewarm(null, false);
+        advance();
+        SpeechRecognizer standby = created.get(0);
+
+        // Act
+        RecognizerPool.Acquired acquired = pool.acquire(null, false);
+
+        // Assert
+        assertTrue(acquired.warm);
+        assertSame(standby, acquired.recognizer);
+        assertEquals("Should not create a recognizer on the critical path", 1, created.size());
+        advance();
+        assertEquals("Should replenish the standby", 2, created.size());
+    }
+
+    @Test
+    public void testAcquire_OtherComponent_ShouldDiscardStandby() {
+        // Arrange
+        pool.prewarm(null, false);
+        advance();
+        SpeechRecognizer standby = created.get(0);
+
+        // Act
+        RecognizerPool.Acquired acquired = pool.acquire(OTHER_SERVICE, false);
+        advance();
+
+        // Assert
+        assertFalse(acquired.warm);
+        verify(standby).destroy();
+        assertEquals(OTHER_SERVICE, components.get(1));
+        assertEquals("The new standby should be for the other service", OTHER_SERVICE, components.get(2));
+    }
+
+    @Test
+    public void testAcquire_OnDevice_ShouldNotUseNetworkStandby() {
+        // Arrange
+        pool.prewarm(null, false);
+        advance();
+
+        // Act
+        RecognizerPool.Acquired acquired = pool.acquire(null, true);
+
+        // Assert
+        assertFalse(acquired.warm);
+        assertNotSame(created.get(0), acquired.recognizer);
+    }
+
+    @Test
+    public void testRelease_ShouldCancelNowAndDestroyLater() {
+        // Arrange
+        SpeechRecognizer recognizer = mock(SpeechRecognizer.class);
+
+        // Act
+        pool.release(recognizer);
+
+        // Assert
+        verify(recognizer).cancel();
+        verify(recognizer, never()).destroy();
+        advance();
+        verify(recognizer).destroy();
+    }
+
+    @Test
+    public void testDestroy_WithReplenishPending_ShouldNotCreateStandby() {
+        // Arrange - the cold acquire posted a replenish
+        RecognizerPool.Acquired acquired = pool.acquire(null, false);
+
+        // Act
+        pool.destroy();
+        advance();
+
+        // Assert
+        assertEquals("Only the acquired recognizer", 1, created.size());
+        assertSame(acquired.recognizer, created.get(0));
+        assertFalse(pool.getMetrics().getBoolean("standbyReady", true));
+    }
+
+    @Test
+    public void testDestroy_ShouldDiscardStandbyAndNotReplenishLater() {
+        // Arrange
+        pool.prewarm(null, false);
+        advance();
+        SpeechRecognizer standby = created.get(0);
+
+        // Act
+        pool.destroy();
+        pool.prewarm(null, false);
+        pool.acquire(null, false);
+        advance();
+
+        // Assert - the acquired recognizer belongs to the caller, no standby is left behind
+        verify(standby).destroy();
+        assertEquals(2, created.size());
+        assertFalse(pool.getMetrics().getBoolean("standbyReady", true));
+    }
+
+    @Test
+    public void testAcquire_FactoryFails_ShouldReturnNull() {
+        // Arrange
+        RecognizerPool failing = new RecognizerPool(
+            RuntimeEnvironment.getApplication(),
+            new Handler(Looper.getMainLooper()),
+            (context, component, onDevice) -> {
+                throw new IllegalStateException("no recognition service");
+            }
+        );
+
+        // Act
+        RecognizerPool.Acquired acquired = failing.acquire(null, false);
+        advance();
+
+        // Assert
+        assertNull(acquired);
+        assertFalse(failing.getMetrics().getBoolean("standbyReady", true));
+    }
+
+    @Test
+    public void testGetMetrics_ShouldCountWarmAndColdAcquires() {
+        // Arrange
+        pool.acquire(null, false);
+        advance();
+        pool.acquire(null, false);
+        pool.recordTimeToReady(false, 300000000L);
+        pool.recordTimeToReady(true, 100000000L);
+
+        // Act
+        JSObject metrics = pool.getMetrics();
+
+        // Assert
+        assertEquals(1, (int) metrics.getInteger("coldAcquires"));
+        assertEquals(1, (int) metrics.getInteger("warmAcquires"));
+        assertEquals(300, metrics.optDouble("averageColdTimeToReadyMs"), 0.001);
+        assertEquals(100, metrics.optDouble("averageWarmTimeToReadyMs"), 0.001);
+        assertEquals(200, metrics.optDouble("bindTimeSavedMs"), 0.001);
+    }
+
+    private static void advance() {
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ZERO);
+    }
+}
@@ -0,0 +1,161 @@
+package com.getcapacitor.community.speechrecognition;
+
+import android.speech.SpeechRecognizer;
+import com.getcapacitor.JSObject;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.*;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class RestartTelemetryTest {
+
+    private static final long MS = 1000000;
+
+    private RestartTelemetry telemetry;
+
+    @Before
+    public void setUp() {
+        telemetry = new RestartTelemetry();
+    }
+
+    @Test
+    public void testCauseOf_ShouldMapRestartableErrors() {
+        assertEquals(RestartTelemetry.NO_MATCH, RestartTelemetry.causeOf(SpeechRecognizer.ERROR_NO_MATCH));
+        assertEquals(RestartTelemetry.SPEECH_TIMEOUT, RestartTelemetry.causeOf(SpeechRecognizer.ERROR_SPEECH_TIMEOUT));
+        assertEquals(RestartTelemetry.BUSY, RestartTelemetry.causeOf(SpeechRecognizer.ERROR_RECOGNIZER_BUSY));
+        assertNull(RestartTelemetry.causeOf(SpeechRecognizer.ERROR_NETWORK));
+    }
+
+    @Test
+    public void testOnReady_AfterRestart_ShouldReportTheDeadAir() {
+        // Arrange
+        telemetry.onRestart(RestartTelemetry.NO_MATCH, 1000 * MS);
+
+        // Act
+        JSObject event = telemetry.onReady(1250 * MS);
+
+        // Assert
+        assertNotNull(event);
+        assertEquals(RestartTelemetry.NO_MATCH, event.getString("cause"));
+        assertEquals(250, event.optDouble("deadAirMs"), 0.001);
+        assertNull("The restart should be completed once", telemetry.onReady(1500 * MS));
+    }
+
+    @Test
+    public void testOnReady_WithoutRestart_ShouldReturnNull() {
+        assertNull(telemetry.onReady(1000 * MS));
+    }
+
+    @Test
+    public void testOnReady_BeforeTheRestartTime_ShouldNotGoNegative() {
+        // Arrange
+        telemetry.onRestart(RestartTelemetry.RESULT, 1000 * MS);
+
+        // Act
+        JSObject event = telemetry.onReady(900 * MS);
+
+        // Assert
+        assertEquals(0, event.optDouble("deadAirMs"), 0);
+    }
+
+    @Test
+    public void testCancel_ShouldForgetThePendingRestartButKeepTheCount() {
+        // Arrange
+        telemetry.onRestart(RestartTelemetry.SPEECH_TIMEOUT, 1000 * MS);
+
+        // Act
+        telemetry.cancel();
+
+        // Assert
+        assertNull(telemetry.onReady(1200 * MS));
+        JSObject metrics = telemetry.getMetrics();
+        assertEquals(1, metrics.optLong("restarts"));
+        assertEquals(0, metrics.optDouble("totalDeadAirMs"), 0);
+    }
+
+    @Test
+    public void testOnGatedRestart_ShouldCountButNotTime() {
+        // Arrange
+        telemetry.onRestart(RestartTelemetry.NO_MATCH, 1000 * MS);
+
+        // Act - the gate held the pending restart back
+        telemetry.onGatedRestart(RestartTelemetry.NO_MATCH);
+
+        // Assert
+        assertNull(telemetry.onReady(5000 * MS));
+        JSObject metrics = telemetry.getMetrics();
+        assertEquals(2, metrics.optLong("restarts"));
+        assertEquals(1, metrics.optLong("gatedRestarts"));
+        assertEquals(0, metrics.optJSONObject("deadAir").optLong("count"));
+    }
+
+    @Test
+    public void testOnRestartFailed_ShouldCountAFailureAndCancel() {
+        // Arrange
+        telemetry.onRestart(RestartTelemetry.BUSY, 1000 * MS);
+
+        // Act
+        telemetry.onRestartFailed();
+
+        // Assert
+        assertNull(telemetry.onReady(1100 * MS));
+        assertEquals(1, telemetry.getMetrics().optLong("failures"));
+    }
+
+    @Test
+    public void testGetMetrics_ShouldCountByCauseAndSumTheDeadAir() {
+        // Arrange
+        telemetry.onSessionStarted();
+        telemetry.onRestart(RestartTelemetry.NO_MATCH, 0);
+        telemetry.onReady(100 * MS);
+        telemetry.onSessionStarted();
+        telemetry.onRestart(RestartTelemetry.NO_MATCH, 1000 * MS);
+        telemetry.onReady(1300 * MS);
+        telemetry.onSessionStarted();
+        telemetry.onRestart(RestartTelemetry.RESULT, 2000 * MS);
+        telemetry.onReady(2000 * MS);
+        telemetry.onRestart("unknown", 3000 * MS);
+
+        // Act
+        JSObject metrics = telemetry.getMetrics();
+
+        // Assert
+        assertEquals(3, metrics.optLong("sessions"));
+        assertEquals("An unknown cause is not counted", 3, metrics.optLong("restarts"));
+        JSONObject byCause = metrics.optJSONObject("restartsByCause");
+        assertEquals(2, byCause.optLong(RestartTelemetry.NO_MATCH));
+        assertEquals(1, byCause.optLong(RestartTelemetry.RESULT));
+        assertEquals(0, byCause.optLong(RestartTelemetry.BUSY));
+        assertEquals(0, byCause.optLong(RestartTelemetry.SPEECH_TIMEOUT));
+        assertEquals(400, metrics.optDouble("totalDeadAirMs"), 0.001);
+        assertEquals(3, metrics.optJSONObject("deadAir").optLong("count"));
+    }
+
+    @Test
+    public void testReset_ShouldClearTheCounters() {
+        // Arrange
+        telemetry.onSessionStarted();
+        telemetry.onRestart(RestartTelemetry.BUSY, 0);
+        telemetry.onReady(100 * MS);
+        telemetry.onGatedRestart(RestartTelemetry.NO_MATCH);
+        telemetry.onRestartFailed();
+
+        // Act
+        telemetry.reset();
+
+        // Assert
+        JSObject metrics = telemetry.getMetrics();
+        assertEquals(0, metrics.optLong("sessions"));
+        assertEquals(0, metrics.optLong("restarts"));
+        assertEquals(0, metrics.optLong("gatedRestarts"));
+        assertEquals(0, metrics.optLong("failures"));
+        assertEquals(0, metrics.optDouble("totalDeadAirMs"), 0);
+        assertEquals(0, metrics.optJSONObject("deadAir").optLong("count"));
+    }
+}
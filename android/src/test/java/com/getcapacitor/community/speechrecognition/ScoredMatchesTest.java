@@ -0,0 +1,97 @@
+package com.getcapacitor.community.speechrecognition;
+
+import com.getcapacitor.JSObject;
+import org.json.JSONArray;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class ScoredMatchesTest {
+
+    private static final List<String> MATCHES = Arrays.asList("turn of the lights", "turn on the lights", "turn on the light");
+
+    @Test
+    public void testOf_ShouldSortByConfidence() {
+        // Act
+        ScoredMatches scored = ScoredMatches.of(MATCHES, new float[] { 0.4f, 0.9f, 0.6f }, 0);
+
+        // Assert
+        assertEquals(Arrays.asList("turn on the lights", "turn on the light", "turn of the lights"), scored.matches);
+        assertArrayEquals(new float[] { 0.9f, 0.6f, 0.4f }, scored.confidences, 0);
+    }
+
+    @Test
+    public void testOf_EqualScores_ShouldKeepTheRecognizerOrder() {
+        // Act
+        ScoredMatches scored = ScoredMatches.of(MATCHES, new float[] { 0.5f, 0.5f, 0.7f }, 0);
+
+        // Assert
+        assertEquals(Arrays.asList("turn on the light", "turn of the lights", "turn on the lights"), scored.matches);
+    }
+
+    @Test
+    public void testOf_UnscoredAlternatives_ShouldComeLastAndSurviveTheMinimum() {
+        // Act
+        ScoredMatches scored = ScoredMatches.of(MATCHES, new float[] { -1f, 0.2f, 0.8f }, 0.5f);
+
+        // Assert - -1 means unknown, not low
+        assertEquals(Arrays.asList("turn on the light", "turn of the lights"), scored.matches);
+        assertArrayEquals(new float[] { 0.8f, -1f }, scored.confidences, 0);
+    }
+
+    @Test
+    public void testOf_BelowMinConfidence_ShouldBeDropped() {
+        // Act
+        ScoredMatches scored = ScoredMatches.of(MATCHES, new float[] { 0.3f, 0.5f, 0.49f }, 0.5f);
+
+        // Assert - the minimum itself is kept
+        assertEquals(Collections.singletonList("turn on the lights"), scored.matches);
+    }
+
+    @Test
+    public void testOf_WithoutUsableScores_ShouldKeepEveryAlternativeInOrder() {
+        // Act
+        ScoredMatches unscored = ScoredMatches.of(MATCHES, null, 0.9f);
+        ScoredMatches shorter = ScoredMatches.of(MATCHES, new float[] { 0.1f, 0.9f }, 0.9f);
+
+        // Assert - the minimum can't be applied without a score per alternative
+        assertEquals(MATCHES, unscored.matches);
+        assertNull(unscored.confidences);
+        assertEquals(MATCHES, shorter.matches);
+        assertNull(shorter.confidences);
+    }
+
+    @Test
+    public void testOf_NullMatches_ShouldBeEmpty() {
+        // Act
+        ScoredMatches scored = ScoredMatches.of(null, new float[] { 0.9f }, 0);
+
+        // Assert
+        assertTrue(scored.matches.isEmpty());
+        assertNull(scored.confidences);
+    }
+
+    @Test
+    public void testPutInto_ShouldAddConfidencesOnlyWhenKnown() throws Exception {
+        // Act
+        JSObject scored = ScoredMatches.of(MATCHES, new float[] { 0.4f, 0.9f, 0.6f }, 0.5f).putInto(new JSObject());
+        JSObject unscored = ScoredMatches.of(MATCHES, null, 0).putInto(new JSObject());
+
+        // Assert
+        JSONArray confidences = scored.getJSONArray("confidences");
+        assertEquals(2, confidences.length());
+        assertEquals(0.9, confidences.getDouble(0), 0.0001);
+        assertEquals("turn on the lights", scored.getJSONArray("matches").getString(0));
+        assertEquals(3, unscored.getJSONArray("matches").length());
+        assertFalse(unscored.has("confidences"));
+    }
+}
@@ -0,0 +1,158 @@
+package com.getcapacitor.community.speechrecognition;
+
+import android.os.Looper;
+import com.getcapacitor.JSObject;
+import com.getcapacitor.community.speechrecognition.SessionStateMachine.State;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.LooperMode;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+import static org.robolectric.Shadows.shadowOf;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+@LooperMode(LooperMode.Mode.PAUSED)
+public class SessionStateMachineTest {
+
+    private SessionStateMachine sessionState;
+
+    @Before
+    public void setUp() {
+        sessionState = new SessionStateMachine();
+    }
+
+    @Test
+    public void testInitialState_ShouldBeIdle() {
+        assertEquals(State.IDLE, sessionState.get());
+        assertFalse(sessionState.isActive());
+    }
+
+    @Test
+    public void testTransition_FromCurrentState_ShouldSucceed() {
+        // Act
+        boolean moved = sessionState.transition(State.IDLE, State.STARTING);
+
+        // Assert
+        assertTrue(moved);
+        assertTrue(sessionState.is(State.STARTING));
+        assertTrue(sessionState.isActive());
+    }
+
+    @Test
+    public void testTransition_FromOtherState_ShouldFailAndKeepState() {
+        // Arrange
+        sessionState.force(State.STOPPING);
+
+        // Act
+        boolean moved = sessionState.transition(State.STARTING, State.LISTENING);
+
+        // Assert
+        assertFalse(moved);
+        assertEquals(State.STOPPING, sessionState.get());
+    }
+
+    @Test
+    public void testTransition_FromAnyActiveState_ShouldOnlyMoveActiveSessions() {
+        // Act & Assert
+        assertFalse(sessionState.transition(SessionStateMachine.ACTIVE, State.STOPPING));
+        assertEquals(State.IDLE, sessionState.get());
+
+        for (State active : SessionStateMachine.ACTIVE) {
+            sessionState.force(active);
+            assertTrue(active.name(), sessionState.transition(SessionStateMachine.ACTIVE, State.STOPPING));
+            assertEquals(State.STOPPING, sessionState.get());
+        }
+    }
+
+    @Test
+    public void testForce_ShouldReturnPreviousState() {
+        // Arrange
+        sessionState.force(State.RESTARTING);
+
+        // Act
+        State previous = sessionState.force(State.IDLE);
+
+        // Assert
+        assertEquals(State.RESTARTING, previous);
+        assertEquals(State.IDLE, sessionState.get());
+    }
+
+    @Test
+    public void testConcurrentTransitions_ShouldHaveOneWinner() throws Exception {
+        for (int round = 0; round < 200; round++) {
+            // Arrange - two threads race to complete the same start
+            sessionState.force(State.STARTING);
+            AtomicInteger winners = new AtomicInteger();
+            CountDownLatch ready = new CountDownLatch(1);
+            Thread[] threads = new Thread[2];
+            for (int i = 0; i < threads.length; i++) {
+                threads[i] = new Thread(() -> {
+                    try {
+                        ready.await();
+                    } catch (InterruptedException ex) {
+                        return;
+                    }
+                    if (sessionState.transition(State.STARTING, State.LISTENING)) {
+                        winners.incrementAndGet();
+                    }
+                });
+                threads[i].start();
+            }
+
+            // Act
+            ready.countDown();
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            // Assert
+            assertEquals("Round " + round, 1, winners.get());
+        }
+    }
+
+    @Test
+    public void testGetMetrics_ShouldCountTransitionsAndTimeInState() {
+        // Arrange
+        sessionState.transition(State.IDLE, State.STARTING);
+        advance(250);
+        sessionState.transition(State.STARTING, State.LISTENING);
+        sessionState.transition(State.STARTING, State.LISTENING);
+
+        // Act
+        JSObject metrics = sessionState.getMetrics();
+
+        // Assert
+        assertEquals("LISTENING", metrics.getString("state"));
+        JSObject transitions = metrics.getJSObject("transitions");
+        assertEquals(2, transitions.length());
+        assertEquals(1, (int) transitions.getJSObject("IDLE->STARTING").getInteger("count"));
+        JSObject started = transitions.getJSObject("STARTING->LISTENING");
+        assertEquals("A failed transition should not be counted", 1, (int) started.getInteger("count"));
+        assertEquals(250, started.optDouble("averageMs"), 0.001);
+    }
+
+    @Test
+    public void testResetMetrics_ShouldClearTransitions() {
+        // Arrange
+        sessionState.transition(State.IDLE, State.STARTING);
+
+        // Act
+        sessionState.resetMetrics();
+
+        // Assert
+        assertEquals(0, sessionState.getMetrics().getJSObject("transitions").length());
+        assertEquals(State.STARTING, sessionState.get());
+    }
+
+    private static void advance(long ms) {
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(ms));
+    }
+}
@@ -0,0 +1,113 @@
+package com.getcapacitor.community.speechrecognition;
+
+import android.os.Handler;
+import android.os.Looper;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.LooperMode;
+
+import java.time.Duration;
+
+import static org.junit.Assert.*;
+import static org.robolectric.Shadows.shadowOf;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+@LooperMode(LooperMode.Mode.PAUSED)
+public class SilenceDeadlineTest {
+
+    private int expired = 0;
+    private SilenceDeadline deadline;
+
+    @Before
+    public void setUp() {
+        deadline = new SilenceDeadline(new Handler(Looper.getMainLooper()), () -> expired++);
+    }
+
+    @Test
+    public void testArm_ShouldExpireAfterTheTimeout() {
+        // Act
+        deadline.arm(1000);
+
+        // Assert
+        advance(999);
+        assertEquals(0, expired);
+        assertTrue(deadline.isArmed());
+        advance(1);
+        assertEquals(1, expired);
+        assertFalse(deadline.isArmed());
+        assertEquals(1000, deadline.getConfiguredMs());
+        assertEquals(1000, deadline.getLastActualMs(), 0.001);
+    }
+
+    @Test
+    public void testArmAgain_ShouldMoveTheDeadline() {
+        // Arrange
+        deadline.arm(1000);
+        advance(600);
+
+        // Act - speech ended again, the check posted for 1000 re-posts itself
+        deadline.arm(1000);
+
+        // Assert
+        advance(999);
+        assertEquals(0, expired);
+        advance(1);
+        assertEquals(1, expired);
+        assertEquals("Measured from the last arm", 1000, deadline.getLastActualMs(), 0.001);
+    }
+
+    @Test
+    public void testArmAgain_WithShorterTimeout_ShouldExpireEarlier() {
+        // Arrange
+        deadline.arm(1000);
+
+        // Act
+        deadline.arm(200);
+
+        // Assert
+        advance(200);
+        assertEquals(1, expired);
+        advance(1000);
+        assertEquals("Should expire once", 1, expired);
+    }
+
+    @Test
+    public void testCancel_ShouldNotExpire() {
+        // Arrange
+        deadline.arm(1000);
+        advance(500);
+
+        // Act
+        deadline.cancel();
+        advance(2000);
+
+        // Assert
+        assertEquals(0, expired);
+        assertFalse(deadline.isArmed());
+    }
+
+    @Test
+    public void testArmAfterCancel_ShouldExpireFromTheNewArm() {
+        // Arrange
+        deadline.arm(1000);
+        deadline.cancel();
+        advance(500);
+
+        // Act
+        deadline.arm(1000);
+
+        // Assert
+        advance(999);
+        assertEquals(0, expired);
+        advance(1);
+        assertEquals(1, expired);
+    }
+
+    private static void advance(long ms) {
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(ms));
+    }
+}
@@ -1,244 +1,510 @@
 package com.getcapacitor.community.speechrecognition;
 
-import android.content.Intent;
+import android.app.Application;
+import android.content.ComponentName;
+import android.content.IntentFilter;
 import android.os.Bundle;
-import android.speech.RecognitionListener;
+import android.os.Handler;
+import android.os.Looper;
+import android.speech.RecognitionService;
 import android.speech.SpeechRecognizer;
+import android.webkit.WebView;
+import androidx.appcompat.app.AppCompatActivity;
+import com.getcapacitor.Bridge;
 import com.getcapacitor.JSObject;
+import com.getcapacitor.PermissionState;
 import com.getcapacitor.PluginCall;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
-import org.mockito.Mock;
-import org.mockito.MockitoAnnotations;
+import org.mockito.ArgumentCaptor;
 import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
 import org.robolectric.annotation.Config;
+import org.robolectric.annotation.LooperMode;
+import org.robolectric.shadows.ShadowPackageManager;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.time.Duration;
 import java.util.ArrayList;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.TimeUnit;
+import java.util.Arrays;
+import java.util.List;
 
 import static org.junit.Assert.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
+import static org.robolectric.Shadows.shadowOf;
 
+/**
+ * Drives the plugin through simulated recognizers on Robolectric's paused main
+ * looper: time only passes in {@link #advance(long)}, so restarts and
+ * latencies are deterministic and no test waits on the wall clock.
+ */
 @RunWith(RobolectricTestRunner.class)
 @Config(sdk = 28)
+@LooperMode(LooperMode.Mode.PAUSED)
 public class SpeechRecognitionTest {
 
-    @Mock
-    private PluginCall mockCall;
-    
-    @Mock
-    private SpeechRecognizer mockSpeechRecognizer;
-    
-    private SpeechRecognition speechRecognition;
-    private SpeechRecognition.SpeechRecognitionListener listener;
-    private ArrayList<String> capturedEvents;
-    private CountDownLatch eventLatch;
+    private RecognitionSimulator simulator;
+    private TestSpeechRecognition speechRecognition;
+    private PluginCall call;
 
     @Before
-    public void setUp() {
-        MockitoAnnotations.openMocks(this);
-        speechRecognition = new SpeechRecognition();
-        capturedEvents = new ArrayList<>();
-        eventLatch = new CountDownLatch(1);
+    public void setUp() throws Exception {
+        Application application = RuntimeEnvironment.getApplication();
+
+        // SpeechRecognizer.isRecognitionAvailable() looks for a recognition service
+        ShadowPackageManager packageManager = shadowOf(application.getPackageManager());
+        ComponentName service = new ComponentName("com.example.recognizer", "com.example.recognizer.RecognizerService");
+        packageManager.addServiceIfNotPresent(service);
+        packageManager.addIntentFilterForService(service, new IntentFilter(RecognitionService.SERVICE_INTERFACE));
+
+        // The plugin posts to the WebView's thread, which is the main looper
+        Handler main = new Handler(Looper.getMainLooper());
+        WebView webView = mock(WebView.class);
+        doAnswer(invocation -> main.post(invocation.getArgument(0))).when(webView).post(any());
+        doAnswer(invocation -> main.postDelayed(invocation.getArgument(0), invocation.getArgument(1)))
+            .when(webView)
+            .postDelayed(any(), anyLong());
+        doAnswer(invocation -> {
+            main.removeCallbacks(invocation.getArgument(0));
+            return true;
+        })
+            .when(webView)
+            .removeCallbacks(any());
+
+        Bridge bridge = mock(Bridge.class);
+        when(bridge.getContext()).thenReturn(application);
+        when(bridge.getActivity()).thenReturn(mock(AppCompatActivity.class));
+        when(bridge.getWebView()).thenReturn(webView);
+
+        simulator = new RecognitionSimulator();
+        speechRecognition = new TestSpeechRecognition();
+        speechRecognition.setBridge(bridge);
+        speechRecognition.setRecognizerFactory(simulator);
+        speechRecognition.load();
+        advance(0);
     }
 
     @Test
-    public void testContinuousMode_NoMatchError_ShouldRestartInternally() throws InterruptedException {
+    public void testContinuousMode_NoMatchError_ShouldRestartInternally() {
         // Arrange
-        setupContinuousMode();
-        
-        // Act - Simulate "No match" error
-        listener.onError(SpeechRecognizer.ERROR_NO_MATCH);
-        
-        // Wait for restart logic
-        Thread.sleep(150);
-        
+        simulator.enqueue(RecognitionScript.silence(3000, SpeechRecognizer.ERROR_NO_MATCH));
+        startContinuousMode();
+
+        // Act - the first session ends with "No match", let the restart happen
+        advance(4000);
+
         // Assert
-        // Should not have stopped listening
-        assertTrue("Should still be listening after No match error", speechRecognition.isListening());
-        
-        // Should have sent error event but not stopped event
-        assertTrue("Should have captured error event", capturedEvents.contains("onError"));
-        assertFalse("Should not have sent stopped event", capturedEvents.contains("listeningState:stopped"));
+        assertTrue("Should still be listening after No match error", isListening());
+        assertEquals("Should have started a second session", 2, simulator.getStarted());
+        assertTrue("Should have captured error event", speechRecognition.has("onError"));
+        assertFalse("Should not have sent stopped event", speechRecognition.has("listeningState:stopped"));
     }
 
     @Test
-    public void testContinuousMode_SpeechTimeoutError_ShouldRestartInternally() throws InterruptedException {
+    public void testContinuousMode_SpeechTimeoutError_ShouldRestartInternally() {
         // Arrange
-        setupContinuousMode();
-        
-        // Act - Simulate "Speech timeout" error
-        listener.onError(SpeechRecognizer.ERROR_SPEECH_TIMEOUT);
-        
-        // Wait for restart logic
-        Thread.sleep(150);
-        
+        simulator.enqueue(RecognitionScript.silence(5000, SpeechRecognizer.ERROR_SPEECH_TIMEOUT));
+        startContinuousMode();
+
+        // Act
+        advance(6000);
+
         // Assert
-        assertTrue("Should still be listening after Speech timeout error", speechRecognition.isListening());
-        assertTrue("Should have captured error event", capturedEvents.contains("onError"));
-        assertFalse("Should not have sent stopped event", capturedEvents.contains("listeningState:stopped"));
+        assertTrue("Should still be listening after Speech timeout error", isListening());
+        assertEquals("Should have started a second session", 2, simulator.getStarted());
+        assertTrue("Should have captured error event", speechRecognition.has("onError"));
+        assertFalse("Should not have sent stopped event", speechRecognition.has("listeningState:stopped"));
     }
 
     @Test
     public void testNonContinuousMode_NoMatchError_ShouldStop() {
         // Arrange
-        setupNonContinuousMode();
-        
-        // Act - Simulate "No match" error
-        listener.onError(SpeechRecognizer.ERROR_NO_MATCH);
-        
+        simulator.enqueue(RecognitionScript.silence(3000, SpeechRecognizer.ERROR_NO_MATCH));
+        startNonContinuousMode();
+
+        // Act
+        advance(4000);
+
         // Assert
-        assertFalse("Should stop listening after No match error", speechRecognition.isListening());
-        assertTrue("Should have captured error event", capturedEvents.contains("onError"));
-        assertTrue("Should have sent stopped event", capturedEvents.contains("listeningState:stopped"));
+        assertFalse("Should stop listening after No match error", isListening());
+        assertEquals("Should not restart", 1, simulator.getStarted());
+        assertTrue("Should have captured error event", speechRecognition.has("onError"));
+        assertTrue("Should have sent stopped event", speechRecognition.has("listeningState:stopped"));
+        verify(call).reject("No match");
     }
 
     @Test
     public void testContinuousMode_NetworkError_ShouldStop() {
         // Arrange
-        setupContinuousMode();
-        
-        // Act - Simulate network error
-        listener.onError(SpeechRecognizer.ERROR_NETWORK);
-        
+        simulator.enqueue(RecognitionScript.session().ready(50).error(500, SpeechRecognizer.ERROR_NETWORK));
+        startContinuousMode();
+
+        // Act
+        advance(2000);
+
         // Assert
-        assertFalse("Should stop listening after network error", speechRecognition.isListening());
-        assertTrue("Should have captured error event", capturedEvents.contains("onError"));
-        assertTrue("Should have sent stopped event", capturedEvents.contains("listeningState:stopped"));
+        assertFalse("Should stop listening after network error", isListening());
+        assertEquals("Should not restart", 1, simulator.getStarted());
+        assertTrue("Should have captured error event", speechRecognition.has("onError"));
+        assertTrue("Should have sent stopped event", speechRecognition.has("listeningState:stopped"));
     }
 
     @Test
     public void testRestartFlag_ShouldSuppressStartedEvent() {
         // Arrange
-        setupContinuousMode();
-        speechRecognition.isRestarting = true;
-        
-        // Act - Simulate ready for speech (restart)
-        listener.onReadyForSpeech(new Bundle());
-        
+        simulator.enqueue(
+            RecognitionScript.silence(3000, SpeechRecognizer.ERROR_NO_MATCH),
+            RecognitionScript.silence(3000, SpeechRecognizer.ERROR_NO_MATCH)
+        );
+        startContinuousMode();
+
+        // Act - two internal restarts, each new session becomes ready
+        advance(8000);
+
         // Assert
-        assertFalse("Should not send started event during restart", 
-                   capturedEvents.contains("listeningState:started"));
+        assertEquals("Should have started three sessions", 3, simulator.getStarted());
+        assertEquals("Should send started event only for the first session", 1, speechRecognition.count("listeningState:started"));
     }
 
     @Test
     public void testNormalStart_ShouldSendStartedEvent() {
         // Arrange
-        setupContinuousMode();
-        speechRecognition.isRestarting = false;
-        
-        // Act - Simulate ready for speech (normal start)
-        listener.onReadyForSpeech(new Bundle());
-        
+        startContinuousMode();
+
+        // Act - the default session becomes ready after 50 ms
+        advance(100);
+
         // Assert
-        assertTrue("Should send started event for normal start", 
-                  capturedEvents.contains("listeningState:started"));
+        assertTrue("Should send started event for normal start", speechRecognition.has("listeningState:started"));
+        assertEquals(SessionStateMachine.State.LISTENING, speechRecognition.sessionState.get());
+    }
+
+    @Test
+    public void testStopBeforeReadyIsHandled_ShouldNotSendStartedEvent() {
+        // Arrange - stop() lands just before the recognizer reports it is ready
+        simulator.enqueue(
+            RecognitionScript.session().at(50, listener -> {
+                speechRecognition.stop(call);
+                listener.onReadyForSpeech(new Bundle());
+            })
+        );
+        startContinuousMode();
+
+        // Act
+        advance(500);
+
+        // Assert
+        assertFalse("Should not send started event after stop()", speechRecognition.has("listeningState:started"));
+        assertEquals(SessionStateMachine.State.IDLE, speechRecognition.sessionState.get());
     }
 
     @Test
     public void testIntentionalStop_ShouldNotTriggerError() {
         // Arrange
-        setupContinuousMode();
-        speechRecognition.isStoppingIntentionally = true;
-        
-        // Act - Simulate error during intentional stop
-        listener.onError(SpeechRecognizer.ERROR_NO_MATCH);
-        
+        startContinuousMode();
+        advance(100);
+
+        // Act - stop() makes the recognizer report an error while winding down
+        speechRecognition.stop(call);
+        advance(500);
+
         // Assert
-        assertFalse("Should not capture error during intentional stop", 
-                   capturedEvents.contains("onError"));
+        assertFalse("Should have stopped listening", isListening());
+        assertFalse("Should not capture error during intentional stop", speechRecognition.has("onError"));
+        assertFalse("The stop error should not report an engine session", speechRecognition.has("engineSession"));
+        assertEquals("Should not restart", 1, simulator.getStarted());
     }
 
     @Test
     public void testPartialResults_ShouldNotifyListeners() {
         // Arrange
-        setupContinuousMode();
-        Bundle partialResults = new Bundle();
-        ArrayList<String> matches = new ArrayList<>();
-        matches.add("partial result");
-        partialResults.putStringArrayList(SpeechRecognizer.RESULTS_RECOGNITION, matches);
-        
-        // Act
-        listener.onPartialResults(partialResults);
-        
+        simulator.enqueue(RecognitionScript.utterance("partial result"));
+        startContinuousMode();
+
+        // Act - the first partial arrives 400 ms into the session
+        advance(600);
+
         // Assert
-        assertTrue("Should have captured partial results event", 
-                  capturedEvents.contains("partialResults"));
+        assertTrue("Should have captured partial results event", speechRecognition.has("partialResults"));
     }
 
     @Test
     public void testFinalResults_ContinuousMode_ShouldNotStop() {
         // Arrange
-        setupContinuousMode();
-        Bundle results = new Bundle();
-        ArrayList<String> matches = new ArrayList<>();
-        matches.add("final result");
-        results.putStringArrayList(SpeechRecognizer.RESULTS_RECOGNITION, matches);
-        
+        simulator.enqueue(RecognitionScript.utterance("final result"));
+        startContinuousMode();
+
         // Act
-        listener.onResults(results);
-        
+        advance(2000);
+
         // Assert
-        assertTrue("Should still be listening after results in continuous mode", 
-                  speechRecognition.isListening());
+        assertTrue("Should still be listening after results in continuous mode", isListening());
     }
 
     @Test
     public void testFinalResults_NonContinuousMode_ShouldStop() {
         // Arrange
-        setupNonContinuousMode();
-        Bundle results = new Bundle();
-        ArrayList<String> matches = new ArrayList<>();
-        matches.add("final result");
-        results.putStringArrayList(SpeechRecognizer.RESULTS_RECOGNITION, matches);
-        
+        simulator.enqueue(RecognitionScript.utterance("final result"));
+        startNonContinuousMode();
+
+        // Act
+        advance(2000);
+
+        // Assert
+        assertFalse("Should stop listening after results in non-continuous mode", isListening());
+        verify(call).resolve(argThat(result -> "success".equals(result.getString("status"))));
+    }
+
+    @Test
+    public void testSilenceTimeout_ShouldStopTheRecognizer() {
+        // Arrange - the deadline is armed at the end of speech, 1 s into the session
+        simulator.enqueue(RecognitionScript.utterance("turn on the lights"));
+        startListening(new JSObject().put("continuous", false).put("partialResults", true).put("silenceTimeout", 1000));
+
         // Act
-        listener.onResults(results);
-        
+        advance(3000);
+
         // Assert
-        assertFalse("Should stop listening after results in non-continuous mode", 
-                   speechRecognition.isListening());
+        List<JSObject> stopped = speechRecognition.payloads("listeningState");
+        stopped.removeIf(event -> !"stopped".equals(event.getString("status")));
+        assertEquals("Should send one stopped event", 1, stopped.size());
+        assertEquals(1000, (int) stopped.get(0).getInteger("silenceTimeoutMs"));
+        assertEquals("Should stop the recognizer", 1, simulator.getStopped());
+        assertFalse("The error confirming the stop should be ignored", speechRecognition.has("onError"));
+        assertEquals(SessionStateMachine.State.IDLE, speechRecognition.sessionState.get());
+    }
+
+    @Test
+    public void testContinuousRestart_ShouldStayWithinDeadAirBudget() {
+        // Arrange - healthy sessions that time out, the scheduler restarts after its base delay
+        simulator.setDefault(RecognitionScript.silence(5000, SpeechRecognizer.ERROR_SPEECH_TIMEOUT));
+        startContinuousMode();
+
+        // Act - ten restarts, below the scheduler's rate limit
+        advance(10 * 5400);
+
+        // Assert - the base delay plus the 50 ms the simulated service takes to become ready
+        List<JSObject> restarts = speechRecognition.payloads("continuousRestart");
+        assertEquals(10, restarts.size());
+        for (JSObject restart : restarts) {
+            assertEquals("speechTimeout", restart.getString("cause"));
+            assertTrue(
+                "Dead air over budget: " + restart.optDouble("deadAirMs"),
+                restart.optDouble("deadAirMs") <= AdaptiveRestartScheduler.MAX_BASE_DELAY_MS + 50
+            );
+        }
+    }
+
+    @Test
+    public void testGaplessMode_ShouldReplayThousandsOfSessions() {
+        // Arrange - restart as fast as possible so only the simulated service sets the pace
+        speechRecognition.setRestartScheduler(new ImmediateRestartScheduler());
+        simulator.setDefault(RecognitionScript.utterance("turn on the lights"));
+        startListening(new JSObject().put("continuous", true).put("partialResults", true).put("gapless", true));
+
+        // Act - each session takes 1.2 s of simulated time
+        int sessions = 2000;
+        advance(sessions * 1200L);
+
+        // Assert
+        assertTrue("Should have replayed every session, started " + simulator.getStarted(), simulator.getStarted() >= sessions);
+        assertTrue(isListening());
+        assertFalse(speechRecognition.has("onError"));
+        for (JSObject restart : speechRecognition.payloads("continuousRestart")) {
+            assertEquals("result", restart.getString("cause"));
+            // From the end of speech: the 200 ms the result takes plus 50 ms to become ready
+            assertTrue("Dead air over budget: " + restart.optDouble("deadAirMs"), restart.optDouble("deadAirMs") <= 250);
+        }
+    }
+
+    @Test
+    public void testGaplessMode_DefaultScheduler_ShouldNotStallLongDictation() {
+        // Arrange - the default scheduler, one result every 1.25 s
+        simulator.setDefault(RecognitionScript.utterance("turn on the lights"));
+        startListening(new JSObject().put("continuous", true).put("partialResults", true).put("gapless", true));
+
+        // Act - well over the scheduler's restart cap per minute
+        int sessions = 60;
+        advance(sessions * 1300L);
+
+        // Assert
+        assertTrue("Dictation stalled after " + simulator.getStarted() + " sessions", simulator.getStarted() >= sessions);
+        for (JSObject restart : speechRecognition.payloads("continuousRestart")) {
+            assertTrue("Dead air over budget: " + restart.optDouble("deadAirMs"), restart.optDouble("deadAirMs") <= 250);
+        }
+    }
+
+    @Test
+    public void testGaplessMode_RepeatedUtterances_ShouldKeepTheirText() throws Exception {
+        // Arrange - sessions never overlap, so words repeated across a hand-off were really said again
+        String[] utterances = { "turn on the lights", "turn on the lights", "yes", "yes", "lights", "lights off please" };
+        for (String text : utterances) {
+            simulator.enqueue(RecognitionScript.utterance(text));
+        }
+        startListening(
+            new JSObject().put("continuous", true).put("partialResults", true).put("forwardPartialResults", false).put("gapless", true)
+        );
+
+        // Act
+        advance(utterances.length * 1500L);
+
+        // Assert - only the final results are forwarded
+        List<String> results = new ArrayList<>();
+        for (JSObject result : speechRecognition.payloads("partialResults")) {
+            results.add(result.getJSONArray("matches").getString(0));
+        }
+        assertEquals(Arrays.asList(utterances), results);
+    }
+
+    @Test
+    public void testCallbackTrace_ShouldReplayRecordedSessions() throws Exception {
+        // Arrange - record a few sessions with volume updates every 10 ms
+        speechRecognition.setRestartScheduler(new ImmediateRestartScheduler());
+        String[] utterances = { "turn on the lights", "what time is it", "play some music", "stop" };
+        for (String text : utterances) {
+            RecognitionScript script = RecognitionScript.utterance(text);
+            for (long at = 50; at < 400 + text.split(" ").length * 150L; at += 10) {
+                float rms = at % 300;
+                script.at(at, listener -> listener.onRmsChanged(rms / 30f));
+            }
+            simulator.enqueue(script);
+        }
+        speechRecognition.startCallbackTrace(mock(PluginCall.class));
+        startContinuousMode();
+        advance(utterances.length * 1500L);
+        PluginCall stopTrace = mock(PluginCall.class);
+        speechRecognition.stopCallbackTrace(stopTrace);
+        ArgumentCaptor<JSObject> saved = ArgumentCaptor.forClass(JSObject.class);
+        verify(stopTrace).resolve(saved.capture());
+        speechRecognition.stop(call);
+        advance(500);
+        int recordedPartials = speechRecognition.count("partialResults");
+
+        List<CallbackTrace.Record> records;
+        File file = new File(saved.getValue().getString("path"));
+        try (InputStream in = new FileInputStream(file)) {
+            records = CallbackTrace.read(in);
+        }
+        file.delete();
+        assertEquals(saved.getValue().getInteger("callbacks").intValue(), records.size());
+
+        // Act - play the trace back 100 times faster
+        startContinuousMode();
+        TraceReplayer replayer = new TraceReplayer(simulator, 100);
+        TraceReplayer.Report report = replayer.replay(records);
+
+        // Assert - the plugin emits the same partial results as while recording
+        assertEquals(records.size(), report.callbacks);
+        assertEquals(2 * recordedPartials, speechRecognition.count("partialResults"));
+        assertTrue(isListening());
+        assertFalse(speechRecognition.has("onError"));
+
+        // Generous bounds that only catch a callback path gone badly wrong
+        assertTrue(report.toString(), report.callbacksPerSecond() > 200);
+        if (report.allocatedBytes >= 0) {
+            assertTrue(report.toString(), report.allocatedBytes / report.callbacks < 1024 * 1024);
+        }
+        // Only one session is queued at a time, the plugin itself should not pile up work on the main thread
+        int longestSession = 0;
+        for (RecognitionScript script : replayer.toScripts(records)) {
+            longestSession = Math.max(longestSession, script.events().size());
+        }
+        assertTrue(report.toString(), report.maxQueueDepth <= longestSession + 32);
     }
 
     // Helper methods
-    private void setupContinuousMode() {
-        // Mock the speech recognizer
-        when(mockSpeechRecognizer.createSpeechRecognizer(any())).thenReturn(mockSpeechRecognizer);
-        
-        // Setup listener with continuous mode
-        listener = speechRecognition.new SpeechRecognitionListener();
-        listener.setCall(mockCall);
-        listener.setContinuous(true);
-        listener.setPartialResults(true);
-        
-        // Mock event capturing
-        doAnswer(invocation -> {
-            String eventName = invocation.getArgument(0);
-            JSObject data = invocation.getArgument(1);
-            capturedEvents.add(eventName + ":" + data.getString("status", ""));
-            return null;
-        }).when(speechRecognition).notifyListeners(anyString(), any(JSObject.class));
-    }
-
-    private void setupNonContinuousMode() {
-        // Mock the speech recognizer
-        when(mockSpeechRecognizer.createSpeechRecognizer(any())).thenReturn(mockSpeechRecognizer);
-        
-        // Setup listener with non-continuous mode
-        listener = speechRecognition.new SpeechRecognitionListener();
-        listener.setCall(mockCall);
-        listener.setContinuous(false);
-        listener.setPartialResults(false);
-        
-        // Mock event capturing
-        doAnswer(invocation -> {
-            String eventName = invocation.getArgument(0);
-            JSObject data = invocation.getArgument(1);
-            capturedEvents.add(eventName + ":" + data.getString("status", ""));
-            return null;
-        }).when(speechRecognition).notifyListeners(anyString(), any(JSObject.class));
+    private void startContinuousMode() {
+        startListening(new JSObject().put("continuous", true).put("partialResults", true));
+    }
+
+    private void startNonContinuousMode() {
+        startListening(new JSObject().put("continuous", false).put("partialResults", false));
+    }
+
+    private void startListening(JSObject options) {
+        call = mock(PluginCall.class);
+        when(call.getData()).thenReturn(options);
+        speechRecognition.start(call);
+        advance(0);
+    }
+
+    private boolean isListening() {
+        return speechRecognition.sessionState.isActive();
+    }
+
+    /**
+     * Runs everything the main looper has scheduled within the next milliseconds of simulated time.
+     */
+    private static void advance(long ms) {
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(ms));
+    }
+
+    /**
+     * Records events instead of sending them to the WebView.
+     */
+    static class TestSpeechRecognition extends SpeechRecognition {
+
+        // Every event is recorded by name and as "name:status"
+        private final List<String> events = new ArrayList<>();
+        private final List<String> payloadEvents = new ArrayList<>();
+        private final List<JSObject> payloads = new ArrayList<>();
+
+        @Override
+        protected void notifyListeners(String eventName, JSObject data) {
+            events.add(eventName);
+            events.add(eventName + ":" + data.getString("status", ""));
+            payloadEvents.add(eventName);
+            payloads.add(data);
+        }
+
+        @Override
+        public PermissionState getPermissionState(String alias) {
+            return PermissionState.GRANTED;
+        }
+
+        boolean has(String event) {
+            return events.contains(event);
+        }
+
+        int count(String event) {
+            int ret = 0;
+            for (String recorded : events) {
+                if (recorded.equals(event)) {
+                    ret++;
+                }
+            }
+            return ret;
+        }
+
+        List<JSObject> payloads(String event) {
+            List<JSObject> ret = new ArrayList<>();
+            for (int i = 0; i < payloads.size(); i++) {
+                if (payloadEvents.get(i).equals(event)) {
+                    ret.add(payloads.get(i));
+                }
+            }
+            return ret;
+        }
+    }
+
+    static class ImmediateRestartScheduler implements RestartScheduler {
+
+        @Override
+        public long nextRestartDelayMs(int cause, boolean gapless) {
+            return 0;
+        }
+
+        @Override
+        public void onReady(long timeToReadyMs) {}
+
+        @Override
+        public void onSpeech() {}
+
+        @Override
+        public void reset() {}
     }
-} 
\ No newline at end of file
+}
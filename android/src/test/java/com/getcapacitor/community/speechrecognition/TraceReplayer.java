@@ -0,0 +1,185 @@
+package com.getcapacitor.community.speechrecognition;
+
+import static org.robolectric.Shadows.shadowOf;
+
+import android.os.Bundle;
+import android.os.Looper;
+import android.os.Message;
+import android.os.MessageQueue;
+import android.speech.SpeechRecognizer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.robolectric.util.ReflectionHelpers;
+
+/**
+ * Replays a trace recorded with {@link CallbackTrace} through a
+ * {@link RecognitionSimulator}, time compressed, and measures how the plugin
+ * keeps up with the callbacks.
+ *
+ * The trace is split into sessions after each result or error, every session
+ * becomes a script starting at its first callback. Simulated time is stepped
+ * in small slices so the main queue depth can be sampled between them; the
+ * wall clock and allocations cover the dispatch only.
+ */
+public class TraceReplayer {
+
+    static final long STEP_MS = 10;
+    static final long SETTLE_MS = 1000;
+
+    /**
+     * What a replay cost on the test thread.
+     */
+    public static class Report {
+
+        public int callbacks;
+        public long wallNanos;
+        /**
+         * bytes allocated by the test thread, -1 when the JVM does not tell
+         */
+        public long allocatedBytes;
+        public int maxQueueDepth;
+
+        public double callbacksPerSecond() {
+            return wallNanos > 0 ? callbacks * 1e9 / wallNanos : 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                "%d callbacks in %.1f ms (%.0f/s), %d bytes allocated, max main queue depth %d",
+                callbacks,
+                wallNanos / 1e6,
+                callbacksPerSecond(),
+                allocatedBytes,
+                maxQueueDepth
+            );
+        }
+    }
+
+    private final RecognitionSimulator simulator;
+    private final double speedup;
+    private int callbacks = 0;
+
+    /**
+     * @param speedup how many times faster than recorded the callbacks are played, e.g. 100
+     */
+    public TraceReplayer(RecognitionSimulator simulator, double speedup) {
+        this.simulator = simulator;
+        this.speedup = speedup;
+    }
+
+    /**
+     * Splits the trace into one script per recognizer session.
+     */
+    public List<RecognitionScript> toScripts(List<CallbackTrace.Record> records) {
+        List<RecognitionScript> ret = new ArrayList<>();
+        RecognitionScript script = null;
+        long start = 0;
+        for (CallbackTrace.Record record : records) {
+            if (script == null) {
+                script = RecognitionScript.session();
+                start = record.offsetMicros;
+            }
+            long atMs = Math.round((record.offsetMicros - start) / 1000.0 / speedup);
+            RecognitionScript.Step step = toStep(record);
+            script.at(atMs, listener -> {
+                callbacks++;
+                step.play(listener);
+            });
+            if (record.type == CallbackTrace.RESULTS || record.type == CallbackTrace.ERROR) {
+                ret.add(script);
+                script = null;
+            }
+        }
+        if (script != null) {
+            ret.add(script);
+        }
+        return ret;
+    }
+
+    /**
+     * Queues the sessions of the trace and plays them, the plugin must already be listening.
+     */
+    public Report replay(List<CallbackTrace.Record> records) {
+        List<RecognitionScript> scripts = toScripts(records);
+        simulator.enqueue(scripts.toArray(new RecognitionScript[0]));
+        // Once the last session started, give it time to play out
+        long settle = SETTLE_MS;
+        for (RecognitionScript script : scripts) {
+            List<RecognitionScript.Event> events = script.events();
+            settle = Math.max(settle, events.get(events.size() - 1).atMs + SETTLE_MS);
+        }
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        com.sun.management.ThreadMXBean allocations = threads instanceof com.sun.management.ThreadMXBean
+            ? (com.sun.management.ThreadMXBean) threads
+            : null;
+        long threadId = Thread.currentThread().getId();
+
+        Report report = new Report();
+        callbacks = 0;
+        long allocatedBefore = allocations != null ? allocations.getThreadAllocatedBytes(threadId) : 0;
+        long started = System.nanoTime();
+        long settled = 0;
+        while (settled < settle) {
+            report.maxQueueDepth = Math.max(report.maxQueueDepth, queueDepth());
+            shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(STEP_MS));
+            settled = simulator.getPending() == 0 ? settled + STEP_MS : 0;
+        }
+        report.wallNanos = System.nanoTime() - started;
+        report.allocatedBytes = allocations != null ? allocations.getThreadAllocatedBytes(threadId) - allocatedBefore : -1;
+        report.callbacks = callbacks;
+        return report;
+    }
+
+    private static RecognitionScript.Step toStep(CallbackTrace.Record record) {
+        switch (record.type) {
+            case CallbackTrace.READY:
+                return listener -> listener.onReadyForSpeech(new Bundle());
+            case CallbackTrace.BEGINNING_OF_SPEECH:
+                return listener -> listener.onBeginningOfSpeech();
+            case CallbackTrace.RMS_CHANGED:
+                return listener -> listener.onRmsChanged(record.rmsdB);
+            case CallbackTrace.BUFFER_RECEIVED:
+                return listener -> listener.onBufferReceived(new byte[record.code]);
+            case CallbackTrace.END_OF_SPEECH:
+                return listener -> listener.onEndOfSpeech();
+            case CallbackTrace.ERROR:
+                return listener -> listener.onError(record.code);
+            case CallbackTrace.RESULTS:
+                return listener -> listener.onResults(bundle(record));
+            case CallbackTrace.PARTIAL_RESULTS:
+                return listener -> listener.onPartialResults(bundle(record));
+            default:
+                return listener -> listener.onEvent(record.code, new Bundle());
+        }
+    }
+
+    private static Bundle bundle(CallbackTrace.Record record) {
+        Bundle bundle = new Bundle();
+        bundle.putStringArrayList(SpeechRecognizer.RESULTS_RECOGNITION, new ArrayList<>(record.matches));
+        if (record.confidences != null) {
+            bundle.putFloatArray(SpeechRecognizer.CONFIDENCE_SCORES, record.confidences);
+        }
+        return bundle;
+    }
+
+    /**
+     * Messages waiting on the main queue, including the ones scheduled for later.
+     */
+    private static int queueDepth() {
+        MessageQueue queue = Looper.getMainLooper().getQueue();
+        int depth = 0;
+        synchronized (queue) {
+            Message message = ReflectionHelpers.getField(queue, "mMessages");
+            while (message != null) {
+                depth++;
+                message = ReflectionHelpers.getField(message, "next");
+            }
+        }
+        return depth;
+    }
+}
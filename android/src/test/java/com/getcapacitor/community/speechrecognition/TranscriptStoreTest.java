@@ -0,0 +1,179 @@
+package com.getcapacitor.community.speechrecognition;
+
+import com.getcapacitor.JSObject;
+import org.json.JSONArray;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class TranscriptStoreTest {
+
+    private TranscriptStore store;
+
+    @Before
+    public void setUp() {
+        store = new TranscriptStore();
+    }
+
+    @Test
+    public void testPage_ShouldReturnSegmentsOldestFirst() throws Exception {
+        // Arrange
+        store.append("turn on the lights", 1000, 0);
+        store.append("", 1500, 500);
+        store.append("and the radio", 2000, 1000);
+
+        // Act
+        JSObject page = store.page(-1, TranscriptStore.DEFAULT_PAGE);
+
+        // Assert - empty results are not stored
+        JSONArray segments = page.getJSONArray("segments");
+        assertEquals(2, segments.length());
+        assertEquals(1, segments.getJSONObject(1).getLong("seq"));
+        assertEquals("and the radio", segments.getJSONObject(1).getString("text"));
+        assertEquals(2000, segments.getJSONObject(1).getLong("timestamp"));
+        assertEquals(1000, segments.getJSONObject(1).getLong("offsetMs"));
+        assertEquals(0, page.getLong("firstSeq"));
+        assertEquals(1, page.getLong("lastSeq"));
+        assertFalse(page.getBoolean("hasMore"));
+    }
+
+    @Test
+    public void testPage_ShouldContinueAcrossChunksFromTheLastSeq() throws Exception {
+        // Arrange
+        int total = TranscriptStore.CHUNK_SEGMENTS * 2 + 10;
+        for (int i = 0; i < total; i++) {
+            store.append("segment " + i, i, i);
+        }
+
+        // Act - page through with limits that cross chunk boundaries
+        long lastSeq = -1;
+        int read = 0;
+        boolean hasMore = true;
+        while (hasMore) {
+            JSObject page = store.page(lastSeq, 100);
+            JSONArray segments = page.getJSONArray("segments");
+            for (int i = 0; i < segments.length(); i++) {
+                assertEquals("segment " + read, segments.getJSONObject(i).getString("text"));
+                read++;
+            }
+            lastSeq = page.getLong("lastSeq");
+            hasMore = page.getBoolean("hasMore");
+        }
+
+        // Assert
+        assertEquals(total, read);
+        assertEquals(total - 1, lastSeq);
+    }
+
+    @Test
+    public void testPage_LimitShouldBeClamped() throws Exception {
+        // Arrange
+        for (int i = 0; i < TranscriptStore.MAX_PAGE + 5; i++) {
+            store.append("word", i, i);
+        }
+
+        // Act & Assert
+        assertEquals(TranscriptStore.MAX_PAGE, store.page(-1, 5000).getJSONArray("segments").length());
+        assertEquals(1, store.page(-1, 0).getJSONArray("segments").length());
+    }
+
+    @Test
+    public void testPage_UpToDate_ShouldReturnNothing() throws Exception {
+        // Arrange
+        store.append("hello", 0, 0);
+
+        // Act
+        JSObject page = store.page(0, TranscriptStore.DEFAULT_PAGE);
+
+        // Assert
+        assertEquals(0, page.getJSONArray("segments").length());
+        assertEquals(0, page.getLong("lastSeq"));
+        assertFalse(page.getBoolean("hasMore"));
+    }
+
+    @Test
+    public void testAppend_OverTheLimit_ShouldEvictTheOldestChunk() throws Exception {
+        // Arrange - a chunk and a bit more are over MAX_CHARS
+        char[] text = new char[TranscriptStore.MAX_CHARS / TranscriptStore.CHUNK_SEGMENTS];
+        Arrays.fill(text, 'a');
+        String segment = new String(text);
+        for (int i = 0; i < TranscriptStore.CHUNK_SEGMENTS; i++) {
+            store.append(segment, i, i);
+        }
+        assertEquals(0, store.page(-1, 1).getLong("firstSeq"));
+
+        // Act
+        store.append("tail", 0, 0);
+
+        // Assert - readers that fell behind continue at the oldest kept segment
+        JSObject page = store.page(10, TranscriptStore.DEFAULT_PAGE);
+        assertEquals(TranscriptStore.CHUNK_SEGMENTS, page.getLong("firstSeq"));
+        assertEquals(1, page.getJSONArray("segments").length());
+        assertEquals("tail", page.getJSONArray("segments").getJSONObject(0).getString("text"));
+    }
+
+    @Test
+    public void testPage_SinceSeqOlderThanTheOldestKept_ShouldStartAtTheOldestKept() throws Exception {
+        // Arrange - fill past the limit so the first chunk is evicted
+        char[] text = new char[TranscriptStore.MAX_CHARS / TranscriptStore.CHUNK_SEGMENTS];
+        Arrays.fill(text, 'a');
+        String segment = new String(text);
+        for (int i = 0; i <= TranscriptStore.CHUNK_SEGMENTS; i++) {
+            store.append(segment, i, i);
+        }
+
+        // Act
+        JSObject page = store.page(3, 1);
+
+        // Assert
+        assertEquals(TranscriptStore.CHUNK_SEGMENTS, page.getJSONArray("segments").getJSONObject(0).getLong("seq"));
+        assertEquals(TranscriptStore.CHUNK_SEGMENTS, page.getLong("lastSeq"));
+        assertFalse(page.getBoolean("hasMore"));
+    }
+
+    @Test
+    public void testPage_AfterClear_ShouldEndThePagingLoop() throws Exception {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            store.append("segment " + i, i, i);
+        }
+        store.clear();
+
+        // Act - a reader that had only seen the first segment pages on
+        JSObject page = store.page(0, TranscriptStore.DEFAULT_PAGE);
+
+        // Assert - nothing is left, the reader moves on to the newest sequence number
+        assertEquals(0, page.getJSONArray("segments").length());
+        assertFalse(page.getBoolean("hasMore"));
+        assertEquals(4, page.getLong("lastSeq"));
+        store.append("after clear", 0, 0);
+        JSObject next = store.page(page.getLong("lastSeq"), TranscriptStore.DEFAULT_PAGE);
+        assertEquals("after clear", next.getJSONArray("segments").getJSONObject(0).getString("text"));
+    }
+
+    @Test
+    public void testClear_ShouldKeepSequenceNumbersIncreasing() throws Exception {
+        // Arrange
+        store.append("first", 0, 0);
+        store.append("second", 0, 0);
+
+        // Act
+        store.clear();
+        JSObject empty = store.page(-1, TranscriptStore.DEFAULT_PAGE);
+        store.append("third", 0, 0);
+
+        // Assert
+        assertEquals(2, empty.getLong("firstSeq"));
+        assertEquals(0, empty.getJSONArray("segments").length());
+        JSObject page = store.page(1, TranscriptStore.DEFAULT_PAGE);
+        assertEquals(2, page.getJSONArray("segments").getJSONObject(0).getLong("seq"));
+    }
+}
@@ -0,0 +1,133 @@
+package com.getcapacitor.community.speechrecognition;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class VolumeLevelMeterTest {
+
+    private VolumeLevelMeter meter;
+
+    @Before
+    public void setUp() {
+        meter = new VolumeLevelMeter();
+    }
+
+    @Test
+    public void testUpdate_ShouldSmoothTowardsTheNormalizedLevel() {
+        // Act
+        meter.update(VolumeLevelMeter.MAX_DB, 1000);
+
+        // Assert
+        assertEquals(VolumeLevelMeter.SMOOTHING, meter.getLevel(), 0.0001);
+
+        // Act
+        meter.update(VolumeLevelMeter.MAX_DB, 1010);
+
+        // Assert
+        assertEquals(0.51f, meter.getLevel(), 0.0001);
+    }
+
+    @Test
+    public void testUpdate_OutOfRange_ShouldClampToZeroAndOne() {
+        // Act
+        meter.update(-100f, 1000);
+
+        // Assert
+        assertEquals(0, meter.getLevel(), 0);
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            meter.update(100f, 1000 + i);
+        }
+
+        // Assert
+        assertTrue(meter.getLevel() <= 1f);
+        assertEquals(1f, meter.getLevel(), 0.001);
+    }
+
+    @Test
+    public void testUpdate_ShouldDecimateToTheConfiguredRate() {
+        // Arrange
+        meter.setRateHz(10);
+
+        // Act & Assert
+        assertTrue(meter.update(5f, 1000));
+        assertFalse(meter.update(5f, 1050));
+        assertFalse(meter.update(5f, 1099));
+        assertTrue(meter.update(5f, 1100));
+    }
+
+    @Test
+    public void testSetRateHz_OutOfRange_ShouldFallBackOrClamp() {
+        // Arrange - zero falls back to the default rate
+        meter.setRateHz(0);
+
+        // Act & Assert
+        assertTrue(meter.update(5f, 1000));
+        assertFalse(meter.update(5f, 1000 + 1000 / VolumeLevelMeter.DEFAULT_RATE_HZ - 1));
+
+        // Arrange - more than 1 kHz is clamped to one value per millisecond
+        meter.setRateHz(5000);
+
+        // Act & Assert
+        assertTrue(meter.update(5f, 2000));
+        assertTrue(meter.update(5f, 2001));
+    }
+
+    @Test
+    public void testPeak_ShouldHoldThenDecayButNotBelowTheLevel() {
+        // Arrange
+        meter.update(VolumeLevelMeter.MAX_DB, 1000);
+        float peak = meter.getPeak();
+
+        // Act - quiet within the hold time
+        meter.update(VolumeLevelMeter.MIN_DB, 1100);
+        meter.update(VolumeLevelMeter.MIN_DB, 1500);
+
+        // Assert
+        assertEquals(peak, meter.getPeak(), 0);
+        assertTrue(meter.getLevel() < peak);
+
+        // Act - 100 ms past the hold time
+        meter.update(VolumeLevelMeter.MIN_DB, 1600);
+
+        // Assert
+        assertEquals(peak - VolumeLevelMeter.PEAK_DECAY_PER_SECOND * 0.1f, meter.getPeak(), 0.0001);
+
+        // Act - the decay would go below zero
+        meter.update(VolumeLevelMeter.MIN_DB, 1700);
+
+        // Assert
+        assertEquals("Should settle on the level", meter.getLevel(), meter.getPeak(), 0);
+    }
+
+    @Test
+    public void testPeak_LouderSample_ShouldRaiseThePeak() {
+        // Arrange
+        meter.update(5f, 1000);
+        float first = meter.getPeak();
+
+        // Act
+        meter.update(VolumeLevelMeter.MAX_DB, 1010);
+
+        // Assert
+        assertTrue(meter.getPeak() > first);
+        assertEquals(meter.getLevel(), meter.getPeak(), 0);
+    }
+
+    @Test
+    public void testReset_ShouldClearLevelPeakAndDecimation() {
+        // Arrange
+        meter.update(VolumeLevelMeter.MAX_DB, 1000);
+
+        // Act
+        meter.reset();
+
+        // Assert
+        assertEquals(0, meter.getLevel(), 0);
+        assertEquals(0, meter.getPeak(), 0);
+        assertTrue("Should emit again right away", meter.update(5f, 1001));
+    }
+}
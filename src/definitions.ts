@@ -26,10 +26,62 @@ export interface SpeechRecognitionPlugin {
    * if `partialResults` is `true`, the function respond directly without result and
    * event `partialResults` will be emit for each partial result, until stopped.
    *
+   * On Android the results also contain `confidences`, the score of each match
+   * between 0 and 1 (-1 when unknown), when the recognizer provides them.
+   * Matches are then sorted by confidence. When a vocabulary was loaded with
+   * `loadVocabulary()`, `vocabularyMatches` holds the closest entries.
+   *
    * @param options
    * @returns void or array of string results
    */
-  start(options?: UtteranceOptions): Promise<{ matches?: string[] }>;
+  start(
+    options?: UtteranceOptions,
+  ): Promise<{ matches?: string[]; confidences?: number[]; vocabularyMatches?: VocabularyMatch[] }>;
+  /**
+   * Validates the options once and stores them under the given id, so they can
+   * be started with `start({ profile: id })` without being parsed again.
+   * Continuous-mode restarts use exactly the same options as the first session.
+   *
+   * Registering an id again replaces the previous profile.
+   *
+   * Only available on Android.
+   *
+   * @since 7.1.0
+   */
+  registerProfile(options: { id: string; options: UtteranceOptions }): Promise<void>;
+  /**
+   * Registers the command phrases spotted in partial and final results, replacing
+   * the previous list. An empty list disables spotting.
+   *
+   * Phrases match case-insensitively and as whole words. Each match fires a
+   * `commandDetected` event once per utterance, even if later partial results
+   * repeat it. Thousands of phrases can be registered.
+   *
+   * Only available on Android.
+   *
+   * @since 7.1.0
+   */
+  registerCommands(options: { commands: string[] }): Promise<{ count: number }>;
+  /**
+   * Loads a vocabulary, such as a product catalogue, that final results are fuzzy
+   * matched against, replacing the previous one. An empty list disables matching.
+   *
+   * Entries and results are compared case-insensitively, without punctuation and
+   * with English number words read as digits, so "iphone fifteen pro" matches
+   * "iPhone 15 Pro". The `topK` closest entries (default 3) within `maxDistance`
+   * edits (default a third of the length) are returned as `vocabularyMatches`
+   * with the final results. Matching stops after `budgetMs` (default 10).
+   *
+   * Only available on Android.
+   *
+   * @since 7.1.0
+   */
+  loadVocabulary(options: {
+    entries: string[];
+    topK?: number;
+    maxDistance?: number;
+    budgetMs?: number;
+  }): Promise<{ count: number }>;
   /**
    * This method will stop listening for utterance
    * @param none
@@ -41,6 +93,9 @@ export interface SpeechRecognitionPlugin {
    *
    * It's not available on Android 13 and newer.
    *
+   * On Android the list is cached on the device for a day and refreshed when
+   * the Google app is updated.
+   *
    * @param none
    * @returns languages - array string of languages
    */
@@ -53,6 +108,164 @@ export interface SpeechRecognitionPlugin {
    * @since 5.1.0
    */
   isListening(): Promise<{ listening: boolean }>;
+  /**
+   * Returns statistics of the pre-bound recognizer pool used to speed up
+   * `start()` and continuous-mode restarts.
+   *
+   * Only available on Android.
+   *
+   * @since 7.1.0
+   */
+  getRecognizerPoolMetrics(): Promise<RecognizerPoolMetrics>;
+  /**
+   * Returns how many partial results the recognizer delivered and how many were
+   * dropped natively, either because they were identical to the previous one or
+   * because a newer one replaced them within `partialResultsIntervalMs`.
+   *
+   * Only available on Android.
+   *
+   * @since 7.1.0
+   */
+  getPartialResultsMetrics(): Promise<PartialResultsMetrics>;
+  /**
+   * Returns the full partial result that the last `partialResultsDelta` event
+   * was applied to, to resync after a missed sequence number.
+   *
+   * Only available on Android.
+   *
+   * @since 7.1.0
+   */
+  getPartialSnapshot(): Promise<PartialResultsSnapshot>;
+  /**
+   * Writes the audio captured during the last session started with
+   * `captureAudio: true` to a file in the app cache directory and returns its path.
+   *
+   * The file contains the raw buffers handed out by the recognition service,
+   * usually 16-bit mono PCM. Only the most recent 2 MB are kept. Not every
+   * recognition service provides audio, in which case the file is empty.
+   * The app is responsible for deleting the file.
+   *
+   * Only available on Android.
+   *
+   * @since 7.1.0
+   */
+  getCapturedAudio(): Promise<CapturedAudio>;
+  /**
+   * Returns how long the voice activity gate kept the recognizer off and the
+   * resulting share of time the recognizer was running.
+   *
+   * Only available on Android.
+   *
+   * @since 7.1.0
+   */
+  getVoiceActivityGateMetrics(): Promise<VoiceActivityGateMetrics>;
+  /**
+   * Returns the current listening session state and, for each state transition,
+   * how often it happened and the average time spent in the state it left.
+   *
+   * Pass `reset: true` to clear the counters after reading them.
+   *
+   * Only available on Android.
+   *
+   * @since 7.1.0
+   */
+  getSessionStateMetrics(options?: { reset?: boolean }): Promise<SessionStateMetrics>;
+  /**
+   * Queues recorded audio files for transcription and resolves once they are queued.
+   *
+   * WAV files must contain 16-bit PCM, other files are read as raw 16 kHz mono
+   * 16-bit PCM, like the ones written by `getCapturedAudio()`. Up to `concurrency`
+   * files (1 to 4, default 1) are transcribed at the same time, on the on-device
+   * recognizer when available. Each file emits `transcriptionProgress` events.
+   * At most 4096 files can be queued.
+   *
+   * Only available on Android 13 and newer.
+   *
+   * @since 7.1.0
+   */
+  transcribeFiles(options: { paths: string[]; concurrency?: number; language?: string }): Promise<{ queued: number }>;
+  /**
+   * Returns the state of the file transcription queue and its throughput.
+   *
+   * Only available on Android.
+   *
+   * @since 7.1.0
+   */
+  getTranscriptionMetrics(): Promise<TranscriptionMetrics>;
+  /**
+   * Returns up to `limit` (default 100, at most 1000) final results recorded with
+   * `transcript: true` whose `seq` is greater than `sinceSeq`, oldest first.
+   * Omit `sinceSeq` to start at the oldest result still kept, then pass the
+   * returned `lastSeq` to get the next page.
+   *
+   * The most recent 4 million characters are kept natively; `firstSeq` tells
+   * whether older results were dropped.
+   *
+   * Only available on Android.
+   *
+   * @since 7.1.0
+   */
+  getTranscript(options?: { sinceSeq?: number; limit?: number }): Promise<TranscriptPage>;
+  /**
+   * Drops the recorded transcript. Sequence numbers are not reused.
+   *
+   * Only available on Android.
+   *
+   * @since 7.1.0
+   */
+  clearTranscript(): Promise<void>;
+  /**
+   * Returns latency histograms of the recognizer session stages, in milliseconds.
+   *
+   * The `start*` stages are measured from the `start()` call for its first session
+   * only, the others for every session including continuous-mode restarts.
+   *
+   * Only available on Android.
+   *
+   * @since 7.1.0
+   */
+  getMetrics(): Promise<LatencyMetrics>;
+  /**
+   * Clears the latency histograms returned by `getMetrics()`.
+   *
+   * Only available on Android.
+   *
+   * @since 7.1.0
+   */
+  resetMetrics(): Promise<void>;
+  /**
+   * Returns continuous-mode restart counts by cause, restart failures and the
+   * dead air of the restarts. The restart rate is `restarts / sessions`.
+   *
+   * Pass `reset: true` to clear the counters after reading them.
+   *
+   * Only available on Android.
+   *
+   * @since 7.1.0
+   */
+  getRestartMetrics(options?: { reset?: boolean }): Promise<RestartMetrics>;
+  /**
+   * Starts recording every callback of the recognition service, with its
+   * timing, so real sessions can be replayed in load tests. Starting again
+   * drops the trace being recorded.
+   *
+   * The trace contains the recognized text. Recording stops at 8 MB.
+   *
+   * Only available on Android.
+   *
+   * @since 7.1.0
+   */
+  startCallbackTrace(): Promise<void>;
+  /**
+   * Stops recording callbacks and writes the trace to a file in the app cache
+   * directory. Rejects if no trace is being recorded. The app is responsible
+   * for deleting the file.
+   *
+   * Only available on Android.
+   *
+   * @since 7.1.0
+   */
+  stopCallbackTrace(): Promise<CallbackTrace>;
   /**
    * Check the speech recognition permission.
    *
@@ -70,23 +283,27 @@ export interface SpeechRecognitionPlugin {
    *
    * On Android it doesn't work if popup is true.
    *
-   * Provides partial result.
+   * Provides partial result. Final results in `partialResults` mode also
+   * contain `confidences` on Android, see `start()`.
    *
    * @since 2.0.2
    */
   addListener(
     eventName: 'partialResults',
-    listenerFunc: (data: { matches: string[] }) => void,
+    listenerFunc: (data: { matches: string[]; confidences?: number[]; vocabularyMatches?: VocabularyMatch[] }) => void,
   ): Promise<PluginListenerHandle>;
 
   /**
    * Called when listening state changed.
    *
+   * When recording stopped because of `silenceTimeout`, the event also contains
+   * the configured timeout and the silence actually measured (Android only).
+   *
    * @since 5.1.0
    */
   addListener(
     eventName: 'listeningState',
-    listenerFunc: (data: { status: 'started' | 'stopped' }) => void,
+    listenerFunc: (data: { status: 'started' | 'stopped'; silenceTimeoutMs?: number; actualSilenceMs?: number }) => void,
   ): Promise<PluginListenerHandle>;
 
   /**
@@ -102,6 +319,90 @@ export interface SpeechRecognitionPlugin {
     listenerFunc: (data: { error: string; errorCode?: number }) => void,
   ): Promise<PluginListenerHandle>;
 
+  /**
+   * Called when `partialResultsDelta` is set to true and a partial result changed.
+   *
+   * Each changed alternative is rebuilt with
+   * `previous.substring(0, change.offset) + change.text`, alternatives beyond
+   * `count` are dropped. If `seq` is not the previous value plus one, call
+   * `getPartialSnapshot()` to resync.
+   *
+   * Only available on Android.
+   *
+   * @since 7.1.0
+   */
+  addListener(
+    eventName: 'partialResultsDelta',
+    listenerFunc: (data: PartialResultsDelta) => void,
+  ): Promise<PluginListenerHandle>;
+
+  /**
+   * Called when `volumeLevel` is set to true, at most `volumeLevelRateHz` times per second.
+   *
+   * `level` is the smoothed input level between 0 and 1, `peak` holds the
+   * recent maximum for a short time before it decays.
+   *
+   * Only available on Android.
+   *
+   * @since 7.1.0
+   */
+  addListener(
+    eventName: 'volumeLevel',
+    listenerFunc: (data: VolumeLevelEvent) => void,
+  ): Promise<PluginListenerHandle>;
+
+  /**
+   * Called when a recognizer session ends, with the engine that served it and its latency.
+   *
+   * Only available on Android.
+   *
+   * @since 7.1.0
+   */
+  addListener(
+    eventName: 'engineSession',
+    listenerFunc: (data: EngineSessionEvent) => void,
+  ): Promise<PluginListenerHandle>;
+
+  /**
+   * Called when a file queued with `transcribeFiles()` was transcribed or failed.
+   *
+   * Only available on Android.
+   *
+   * @since 7.1.0
+   */
+  addListener(
+    eventName: 'transcriptionProgress',
+    listenerFunc: (data: TranscriptionProgressEvent) => void,
+  ): Promise<PluginListenerHandle>;
+
+  /**
+   * Called when a phrase registered with `registerCommands()` is heard.
+   *
+   * Only available on Android.
+   *
+   * @since 7.1.0
+   */
+  addListener(
+    eventName: 'commandDetected',
+    listenerFunc: (data: CommandDetectedEvent) => void,
+  ): Promise<PluginListenerHandle>;
+
+  /**
+   * Called when continuous mode has restarted the recognizer and the next session is ready.
+   *
+   * `deadAirMs` is the time between the end of the previous session and the
+   * next session being ready for speech. Restarts held back by
+   * `voiceActivityGate` don't emit this event.
+   *
+   * Only available on Android.
+   *
+   * @since 7.1.0
+   */
+  addListener(
+    eventName: 'continuousRestart',
+    listenerFunc: (data: ContinuousRestartEvent) => void,
+  ): Promise<PluginListenerHandle>;
+
   /**
    * Remove all the listeners that are attached to this plugin.
    *
@@ -111,6 +412,14 @@ export interface SpeechRecognitionPlugin {
 }
 
 export interface UtteranceOptions {
+  /**
+   * id of a profile registered with `registerProfile()`, all other options are ignored
+   *
+   * Only available on Android.
+   *
+   * @since 7.1.0
+   */
+  profile?: string;
   /**
    * key returned from `getSupportedLanguages()`
    */
@@ -154,4 +463,507 @@ export interface UtteranceOptions {
    * @since 5.4.0
    */
   silenceTimeout?: number;
+  /**
+   * arm the next recognizer session before the current one ends (continuous mode only)
+   *
+   * When true, the next session is prepared at the end of speech and started as soon
+   * as the current session delivers its result, instead of after a fixed delay.
+   *
+   * Only available on Android.
+   *
+   * @since 7.1.0
+   */
+  gapless?: boolean;
+  /**
+   * emit `partialResultsDelta` events with only the changed part of each alternative
+   * instead of `partialResults` events with the full matches
+   *
+   * Only available on Android.
+   *
+   * @since 7.1.0
+   */
+  partialResultsDelta?: boolean;
+  /**
+   * minimum time in milliseconds between two partial result events
+   *
+   * Partial results arriving faster are coalesced natively and only the latest one
+   * is emitted once the interval has elapsed. Final results are always emitted
+   * immediately. For example 100 limits partial results to 10 events per second.
+   *
+   * Only available on Android.
+   *
+   * @since 7.1.0
+   */
+  partialResultsIntervalMs?: number;
+  /**
+   * emit `volumeLevel` events with the input level while listening
+   *
+   * Only available on Android.
+   *
+   * @since 7.1.0
+   */
+  volumeLevel?: boolean;
+  /**
+   * maximum number of `volumeLevel` events per second (default 15)
+   *
+   * Only available on Android.
+   *
+   * @since 7.1.0
+   */
+  volumeLevelRateHz?: number;
+  /**
+   * keep the audio heard by the recognizer so it can be retrieved with `getCapturedAudio()`
+   *
+   * Only available on Android.
+   *
+   * @since 7.1.0
+   */
+  captureAudio?: boolean;
+  /**
+   * release the recognizer during silence in continuous mode and restart it when speech is detected
+   *
+   * A low-power voice activity detector listens between sessions instead of the
+   * recognizer. On Android 13 and newer the recognizer receives the last 300 ms
+   * before speech was detected, on older versions the start of the first word
+   * may be cut.
+   *
+   * Only available on Android.
+   *
+   * @since 7.1.0
+   */
+  voiceActivityGate?: boolean;
+  /**
+   * recognition engine to use
+   *
+   * - `network`: the default recognition service (default)
+   * - `onDevice`: the on-device recognizer on Android 12 and newer, offline
+   *   recognition with the default service on older versions
+   * - `auto`: on-device when the language is installed on the device, with a
+   *   fallback to the other engine when a session fails because of the engine
+   *   or the network
+   *
+   * Only available on Android.
+   *
+   * @since 7.1.0
+   */
+  engine?: 'onDevice' | 'network' | 'auto';
+  /**
+   * drop final alternatives with a confidence score below this value (0 to 1)
+   *
+   * Alternatives without a score are kept.
+   *
+   * Only available on Android.
+   *
+   * @since 7.1.0
+   */
+  minConfidence?: number;
+  /**
+   * emit `partialResults` (or `partialResultsDelta`) events for partial results (default true)
+   *
+   * Set to false to only receive `commandDetected` events and final results.
+   *
+   * Only available on Android.
+   *
+   * @since 7.1.0
+   */
+  forwardPartialResults?: boolean;
+  /**
+   * record final results natively so they can be read back with `getTranscript()`
+   *
+   * Only available on Android.
+   *
+   * @since 7.1.0
+   */
+  transcript?: boolean;
+}
+
+export interface PartialResultsDelta {
+  /**
+   * sequence number, increased by one for every delta
+   */
+  seq: number;
+  /**
+   * number of alternatives in the partial result
+   */
+  count: number;
+  /**
+   * alternatives that changed since the previous delta
+   */
+  changes: { index: number; offset: number; text: string }[];
+}
+
+export interface PartialResultsSnapshot {
+  /**
+   * sequence number of the last delta included in the snapshot
+   */
+  seq: number;
+  /**
+   * full partial result
+   */
+  matches: string[];
+}
+
+export interface ContinuousRestartEvent {
+  /**
+   * time in milliseconds between the end of the previous session and the next session being ready
+   */
+  deadAirMs: number;
+  /**
+   * what ended the previous session: `result` is a final result in gapless mode
+   */
+  cause: 'noMatch' | 'speechTimeout' | 'busy' | 'result';
+}
+
+export interface RestartMetrics {
+  /**
+   * number of recognizer sessions started, including restarts
+   */
+  sessions: number;
+  /**
+   * number of continuous-mode restarts
+   */
+  restarts: number;
+  restartsByCause: { noMatch: number; speechTimeout: number; busy: number; result: number };
+  /**
+   * number of restarts held back by `voiceActivityGate` until speech, not included in `deadAir`
+   */
+  gatedRestarts: number;
+  /**
+   * number of restarts that failed to start a recognizer
+   */
+  failures: number;
+  /**
+   * dead air of the completed restarts
+   */
+  deadAir: LatencyHistogram;
+  /**
+   * total dead air, an estimate of the audio continuous mode did not hear
+   */
+  totalDeadAirMs: number;
+}
+
+export interface RecognizerPoolMetrics {
+  /**
+   * number of sessions that started on the pre-bound standby recognizer
+   */
+  warmAcquires: number;
+  /**
+   * number of sessions that had to create a recognizer on the spot
+   */
+  coldAcquires: number;
+  /**
+   * average time spent creating a recognizer on the spot
+   */
+  averageCreateMs: number;
+  /**
+   * average time from `startListening` to ready for a freshly created recognizer
+   */
+  averageColdTimeToReadyMs: number;
+  /**
+   * average time from `startListening` to ready for a standby recognizer
+   */
+  averageWarmTimeToReadyMs: number;
+  /**
+   * estimated total time-to-ready saved by the standby recognizer
+   */
+  bindTimeSavedMs: number;
+  /**
+   * whether a standby recognizer is currently available
+   */
+  standbyReady: boolean;
+}
+
+export interface SessionStateMetrics {
+  /**
+   * current state of the listening session
+   */
+  state: 'IDLE' | 'STARTING' | 'LISTENING' | 'RESTARTING' | 'STOPPING';
+  /**
+   * transition statistics keyed by `FROM->TO`
+   */
+  transitions: { [transition: string]: { count: number; averageMs: number } };
+}
+
+export interface PartialResultsMetrics {
+  /**
+   * number of partial results delivered by the recognizer
+   */
+  received: number;
+  /**
+   * number of partial results dropped because they were identical to the previous one
+   */
+  suppressed: number;
+  /**
+   * number of partial results replaced by a newer one before they were emitted
+   */
+  coalesced: number;
+}
+
+export interface VolumeLevelEvent {
+  /**
+   * smoothed input level between 0 and 1
+   */
+  level: number;
+  /**
+   * recent peak level between 0 and 1
+   */
+  peak: number;
+}
+
+export interface EngineSessionEvent {
+  /**
+   * engine that served the session
+   */
+  engine: 'onDevice' | 'network';
+  /**
+   * true if the engine was switched after an error since `start()`
+   */
+  fallback: boolean;
+  /**
+   * time between starting the recognizer and it being ready for speech
+   */
+  timeToReadyMs?: number;
+  /**
+   * time between the end of speech and the final result
+   */
+  resultLatencyMs?: number;
+}
+
+export interface TranscriptSegment {
+  /**
+   * sequence number, increased by one for every recorded result
+   */
+  seq: number;
+  /**
+   * best match of the final result
+   */
+  text: string;
+  /**
+   * time the result was received, in milliseconds since epoch
+   */
+  timestamp: number;
+  /**
+   * time the result was received, in milliseconds since `start()`
+   */
+  offsetMs: number;
+}
+
+export interface TranscriptPage {
+  segments: TranscriptSegment[];
+  /**
+   * sequence number of the oldest result still kept
+   */
+  firstSeq: number;
+  /**
+   * sequence number of the last returned result, or the newest sequence number when none was returned
+   */
+  lastSeq: number;
+  /**
+   * true if more results follow `lastSeq`
+   */
+  hasMore: boolean;
+}
+
+export interface VocabularyMatch {
+  /**
+   * the entry as loaded
+   */
+  entry: string;
+  /**
+   * index of the entry in the list passed to `loadVocabulary()`
+   */
+  index: number;
+  /**
+   * similarity between 0 and 1, 1 being an exact match after normalization
+   */
+  score: number;
+  /**
+   * number of edits between the result and the entry after normalization
+   */
+  distance: number;
+}
+
+export interface CommandDetectedEvent {
+  /**
+   * the phrase as registered
+   */
+  command: string;
+  /**
+   * index of the phrase in the list passed to `registerCommands()`
+   */
+  index: number;
+  /**
+   * true if the phrase was found in a final result
+   */
+  final: boolean;
+}
+
+export interface TranscriptionProgressEvent {
+  /**
+   * path of the file
+   */
+  path: string;
+  status: 'done' | 'error';
+  /**
+   * transcript of the file when done
+   */
+  text?: string;
+  /**
+   * error message when failed
+   */
+  error?: string;
+  errorCode?: number;
+  /**
+   * duration of the audio in the file
+   */
+  audioMs: number;
+  /**
+   * time it took to transcribe the file
+   */
+  elapsedMs: number;
+  /**
+   * number of files transcribed so far
+   */
+  completed: number;
+  /**
+   * number of files that failed so far
+   */
+  failed: number;
+  /**
+   * number of files still waiting
+   */
+  queued: number;
+}
+
+export interface TranscriptionMetrics {
+  /**
+   * number of files waiting
+   */
+  queued: number;
+  /**
+   * number of files being transcribed
+   */
+  active: number;
+  completed: number;
+  failed: number;
+  /**
+   * total duration of the transcribed audio
+   */
+  audioSeconds: number;
+  /**
+   * time during which the queue was working
+   */
+  wallSeconds: number;
+  /**
+   * throughput, seconds of audio transcribed per second of work
+   */
+  audioSecondsPerWallSecond: number;
+}
+
+export interface LatencyHistogram {
+  /**
+   * number of recorded samples, the other fields are 0 when there are none
+   */
+  count: number;
+  minMs: number;
+  maxMs: number;
+  meanMs: number;
+  /**
+   * percentiles, accurate to about 6%
+   */
+  p50Ms: number;
+  p95Ms: number;
+  p99Ms: number;
+}
+
+export interface LatencyMetrics {
+  /**
+   * from the `start()` call until the recognizer exists
+   */
+  startToRecognizerCreated: LatencyHistogram;
+  /**
+   * from the `start()` call until the recognizer is ready for speech
+   */
+  startToReady: LatencyHistogram;
+  /**
+   * from the `start()` call until the first partial result
+   */
+  startToFirstPartial: LatencyHistogram;
+  /**
+   * from `startListening` until the recognizer is ready for speech
+   */
+  sessionToReady: LatencyHistogram;
+  /**
+   * from ready for speech until speech begins
+   */
+  readyToSpeech: LatencyHistogram;
+  /**
+   * from the beginning of speech until the first partial result
+   */
+  speechToFirstPartial: LatencyHistogram;
+  /**
+   * from the end of speech until the final result
+   */
+  endOfSpeechToResults: LatencyHistogram;
+  /**
+   * from `startListening` until the final result
+   */
+  sessionToResults: LatencyHistogram;
+}
+
+export interface CapturedAudio {
+  /**
+   * absolute path of the file holding the captured audio
+   */
+  path: string;
+  /**
+   * size of the file in bytes
+   */
+  bytes: number;
+  /**
+   * number of bytes received during the session, including those that did not fit in the buffer
+   */
+  totalBytes: number;
+}
+
+export interface CallbackTrace {
+  /**
+   * absolute path of the file holding the trace
+   */
+  path: string;
+  /**
+   * size of the file in bytes
+   */
+  bytes: number;
+  /**
+   * number of callbacks recorded
+   */
+  callbacks: number;
+  /**
+   * number of callbacks not recorded because the trace was full
+   */
+  dropped: number;
+}
+
+export interface VoiceActivityGateMetrics {
+  /**
+   * total time the recognizer was kept off by the gate
+   */
+  gatedMs: number;
+  /**
+   * number of times the gate detected speech and restarted the recognizer
+   */
+  triggers: number;
+  /**
+   * time spent in continuous sessions that use the gate, in ms
+   */
+  sessionMs: number;
+  /**
+   * share of `sessionMs`, between 0 and 1, the recognizer was not gated
+   */
+  recognizerDutyCycle: number;
+  /**
+   * current noise floor estimate in dB
+   */
+  noiseFloorDb: number;
 }
@@ -10,10 +10,14 @@ export interface SpeechRecognitionError {
 
 export interface SpeechRecognitionPartialResults {
   matches: string[];
+  confidences?: number[];
+  vocabularyMatches?: { entry: string; index: number; score: number; distance: number }[];
 }
 
 export interface SpeechRecognitionListeningState {
   status: 'started' | 'stopped';
+  silenceTimeoutMs?: number;
+  actualSilenceMs?: number;
 }
 
 export interface SpeechRecognitionAvailability {
@@ -22,6 +26,8 @@ export interface SpeechRecognitionAvailability {
 
 export interface SpeechRecognitionResults {
   matches?: string[];
+  confidences?: number[];
+  vocabularyMatches?: { entry: string; index: number; score: number; distance: number }[];
 }
 
 export interface SpeechRecognitionLanguages {
@@ -52,6 +58,7 @@ export type SpeechRecognitionListener =
 
 // Configuration options
 export interface SpeechRecognitionOptions {
+  profile?: string;
   language?: string;
   maxResults?: number;
   prompt?: string;
@@ -59,4 +66,15 @@ export interface SpeechRecognitionOptions {
   partialResults?: boolean;
   continuous?: boolean;
   silenceTimeout?: number;
+  gapless?: boolean;
+  partialResultsDelta?: boolean;
+  partialResultsIntervalMs?: number;
+  volumeLevel?: boolean;
+  volumeLevelRateHz?: number;
+  captureAudio?: boolean;
+  voiceActivityGate?: boolean;
+  engine?: 'onDevice' | 'network' | 'auto';
+  minConfidence?: number;
+  forwardPartialResults?: boolean;
+  transcript?: boolean;
 } 
\ No newline at end of file
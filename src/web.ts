@@ -1,12 +1,44 @@
 import { WebPlugin } from '@capacitor/core';
 
-import type { PermissionStatus, SpeechRecognitionPlugin, UtteranceOptions } from './definitions';
+import type {
+  CallbackTrace,
+  CapturedAudio,
+  LatencyMetrics,
+  PartialResultsMetrics,
+  PartialResultsSnapshot,
+  PermissionStatus,
+  RecognizerPoolMetrics,
+  RestartMetrics,
+  SessionStateMetrics,
+  SpeechRecognitionPlugin,
+  TranscriptionMetrics,
+  TranscriptPage,
+  UtteranceOptions,
+  VocabularyMatch,
+  VoiceActivityGateMetrics,
+} from './definitions';
 
 export class SpeechRecognitionWeb extends WebPlugin implements SpeechRecognitionPlugin {
   available(): Promise<{ available: boolean }> {
     throw this.unimplemented('Method not implemented on web.');
   }
-  start(_options?: UtteranceOptions): Promise<{ matches?: string[] }> {
+  start(
+    _options?: UtteranceOptions,
+  ): Promise<{ matches?: string[]; confidences?: number[]; vocabularyMatches?: VocabularyMatch[] }> {
+    throw this.unimplemented('Method not implemented on web.');
+  }
+  registerProfile(_options: { id: string; options: UtteranceOptions }): Promise<void> {
+    throw this.unimplemented('Method not implemented on web.');
+  }
+  registerCommands(_options: { commands: string[] }): Promise<{ count: number }> {
+    throw this.unimplemented('Method not implemented on web.');
+  }
+  loadVocabulary(_options: {
+    entries: string[];
+    topK?: number;
+    maxDistance?: number;
+    budgetMs?: number;
+  }): Promise<{ count: number }> {
     throw this.unimplemented('Method not implemented on web.');
   }
   stop(): Promise<void> {
@@ -21,6 +53,51 @@ export class SpeechRecognitionWeb extends WebPlugin implements SpeechRecognition
   isListening(): Promise<{ listening: boolean }> {
     throw this.unimplemented('Method not implemented on web.');
   }
+  getCapturedAudio(): Promise<CapturedAudio> {
+    throw this.unimplemented('Method not implemented on web.');
+  }
+  getVoiceActivityGateMetrics(): Promise<VoiceActivityGateMetrics> {
+    throw this.unimplemented('Method not implemented on web.');
+  }
+  getPartialSnapshot(): Promise<PartialResultsSnapshot> {
+    throw this.unimplemented('Method not implemented on web.');
+  }
+  getPartialResultsMetrics(): Promise<PartialResultsMetrics> {
+    throw this.unimplemented('Method not implemented on web.');
+  }
+  getRecognizerPoolMetrics(): Promise<RecognizerPoolMetrics> {
+    throw this.unimplemented('Method not implemented on web.');
+  }
+  getSessionStateMetrics(_options?: { reset?: boolean }): Promise<SessionStateMetrics> {
+    throw this.unimplemented('Method not implemented on web.');
+  }
+  getTranscript(_options?: { sinceSeq?: number; limit?: number }): Promise<TranscriptPage> {
+    throw this.unimplemented('Method not implemented on web.');
+  }
+  clearTranscript(): Promise<void> {
+    throw this.unimplemented('Method not implemented on web.');
+  }
+  getMetrics(): Promise<LatencyMetrics> {
+    throw this.unimplemented('Method not implemented on web.');
+  }
+  resetMetrics(): Promise<void> {
+    throw this.unimplemented('Method not implemented on web.');
+  }
+  getRestartMetrics(_options?: { reset?: boolean }): Promise<RestartMetrics> {
+    throw this.unimplemented('Method not implemented on web.');
+  }
+  startCallbackTrace(): Promise<void> {
+    throw this.unimplemented('Method not implemented on web.');
+  }
+  stopCallbackTrace(): Promise<CallbackTrace> {
+    throw this.unimplemented('Method not implemented on web.');
+  }
+  transcribeFiles(_options: { paths: string[]; concurrency?: number; language?: string }): Promise<{ queued: number }> {
+    throw this.unimplemented('Method not implemented on web.');
+  }
+  getTranscriptionMetrics(): Promise<TranscriptionMetrics> {
+    throw this.unimplemented('Method not implemented on web.');
+  }
   requestPermission(): Promise<void> {
     throw this.unimplemented('Method not implemented on web.');
   }